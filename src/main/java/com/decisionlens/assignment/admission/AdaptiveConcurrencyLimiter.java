@@ -0,0 +1,120 @@
+package com.decisionlens.assignment.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to observed latency using a gradient of the no-load round trip time
+ * over the current one. While latency stays within {@code tolerance} times the no-load latency the limit
+ * grows by roughly its square root, the queue allowance; once requests start queueing downstream the
+ * gradient drops below one and the limit shrinks until latency is back in range. By Little's law a bounded
+ * concurrency at a bounded latency caps the throughput admitted to the service, so excess requests are
+ * rejected instead of piling up.
+ * <p>
+ * The no-load latency is the minimum over a sliding window of two periods, so it follows a permanent
+ * change in baseline latency within at most two periods.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long minRttWindowNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+    private double estimatedLimit;
+    private long windowStart;
+    private long currentWindowMinRtt = Long.MAX_VALUE;
+    private long previousWindowMinRtt = Long.MAX_VALUE;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, long minRttWindowNanos) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits of " + name + " must satisfy 1 <= min <= max");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.minRttWindowNanos = minRttWindowNanos;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+        this.windowStart = System.nanoTime();
+    }
+
+    /**
+     * Admits a request if fewer than {@link #getLimit()} requests are in flight.
+     * @return true if the request was admitted and must be followed by {@link #release(long)}
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        accepted.increment();
+        return true;
+    }
+
+    /**
+     * Completes an admitted request and feeds its latency into the limit.
+     * @param startNanos {@link System#nanoTime()} taken when the request was admitted
+     */
+    public void release(long startNanos) {
+        release(startNanos, System.nanoTime());
+    }
+
+    void release(long startNanos, long nowNanos) {
+        int inFlightBeforeRelease = inFlight.getAndDecrement();
+        onSample(nowNanos, nowNanos - startNanos, inFlightBeforeRelease);
+    }
+
+    private synchronized void onSample(long now, long rtt, int inFlightBeforeRelease) {
+        if (now - windowStart > minRttWindowNanos) {
+            previousWindowMinRtt = currentWindowMinRtt;
+            currentWindowMinRtt = Long.MAX_VALUE;
+            windowStart = now;
+        }
+        currentWindowMinRtt = Math.min(currentWindowMinRtt, rtt);
+        long noLoadRtt = Math.min(currentWindowMinRtt, previousWindowMinRtt);
+
+        // Without enough traffic to fill half the limit the latency says nothing about the limit.
+        if (inFlightBeforeRelease < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * noLoadRtt / Math.max(rtt, 1)));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,72 @@
+package com.decisionlens.assignment.admission;
+
+import com.decisionlens.assignment.exception.ServiceOverloadedException;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+
+/**
+ * Admits requests to the book API through separate adaptive limits for reads and writes, so a slow
+ * database sheds writes without starving cheap reads and vice versa. A request over the limit fails
+ * immediately with {@link ServiceOverloadedException} instead of queueing in the servlet container.
+ */
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String LIMITER_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".limiter";
+    private static final String START_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".start";
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final ServiceOverloadedException readRejection;
+    private final ServiceOverloadedException writeRejection;
+
+    public AdmissionInterceptor(AdmissionProperties properties) {
+        this.readLimiter = limiter("read", properties.getRead(), properties);
+        this.writeLimiter = limiter("write", properties.getWrite(), properties);
+        long retryAfterSeconds = Math.max(1, properties.getRetryAfter().toSeconds());
+        this.readRejection = new ServiceOverloadedException("Too many concurrent read requests", retryAfterSeconds);
+        this.writeRejection = new ServiceOverloadedException("Too many concurrent write requests", retryAfterSeconds);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        boolean read = isRead(request);
+        AdaptiveConcurrencyLimiter limiter = read ? readLimiter : writeLimiter;
+        if (!limiter.tryAcquire()) {
+            // Stackless and immutable, so one instance per limiter serves every rejection.
+            throw read ? readRejection : writeRejection;
+        }
+        request.setAttribute(LIMITER_ATTRIBUTE, limiter);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        AdaptiveConcurrencyLimiter limiter = (AdaptiveConcurrencyLimiter) request.getAttribute(LIMITER_ATTRIBUTE);
+        if (limiter != null) {
+            request.removeAttribute(LIMITER_ATTRIBUTE);
+            limiter.release((Long) request.getAttribute(START_ATTRIBUTE));
+        }
+    }
+
+    public List<AdaptiveConcurrencyLimiter> getLimiters() {
+        return List.of(readLimiter, writeLimiter);
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                || HttpMethod.OPTIONS.matches(method);
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(String name, AdmissionProperties.Limit limit,
+                                                      AdmissionProperties properties) {
+        return new AdaptiveConcurrencyLimiter(name, limit.getInitialLimit(), limit.getMinLimit(),
+                limit.getMaxLimit(), properties.getTolerance(), properties.getMinRttWindow().toNanos());
+    }
+}
@@ -0,0 +1,48 @@
+package com.decisionlens.assignment.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "book.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How far latency may rise above the no-load latency before the limits start shrinking.
+     */
+    private double tolerance = 2.0;
+
+    /**
+     * Period over which the no-load latency is tracked.
+     */
+    private Duration minRttWindow = Duration.ofSeconds(30);
+
+    /**
+     * Value of the Retry-After header on rejected requests.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    private Limit read = new Limit(50, 4, 500);
+
+    private Limit write = new Limit(20, 2, 200);
+
+    @Data
+    public static class Limit {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        public Limit() {
+        }
+
+        public Limit(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.decisionlens.assignment.config;
+
+import com.decisionlens.assignment.admission.AdmissionInterceptor;
+import com.decisionlens.assignment.admission.AdmissionProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(prefix = "book.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private final AdmissionProperties properties;
+
+    public AdmissionConfig(AdmissionProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public AdmissionInterceptor admissionInterceptor() {
+        return new AdmissionInterceptor(properties);
+    }
+
+    /**
+     * Bulk imports hold a request open for the whole upload, so they are left out of the latency
+     * based limits.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionInterceptor())
+                .addPathPatterns("/api/v1/book", "/api/v1/book/**")
+                .excludePathPatterns("/api/v1/book/import", "/api/v1/book/import/**");
+    }
+}
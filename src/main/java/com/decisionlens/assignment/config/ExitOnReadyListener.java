@@ -0,0 +1,21 @@
+package com.decisionlens.assignment.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shuts the application down as soon as it is ready to serve. The cdsArchive Gradle task starts the
+ * application with this enabled, so the JVM dumps the classes loaded during startup and exits.
+ */
+@Component
+@ConditionalOnProperty(prefix = "book.startup", name = "exit-on-ready", havingValue = "true")
+public class ExitOnReadyListener {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void exit(ApplicationReadyEvent event) {
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -1,16 +1,23 @@
 package com.decisionlens.assignment.config;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 import springfox.documentation.builders.ApiInfoBuilder;
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.service.ApiInfo;
 import springfox.documentation.spi.DocumentationType;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
 import springfox.documentation.spring.web.plugins.Docket;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
 @EnableSwagger2
 @Configuration
+@ConditionalOnProperty(name = "springfox.documentation.enabled", havingValue = "true", matchIfMissing = true)
 public class SwaggerConfig {
 
     private ApiInfo apiInfo() {
@@ -30,5 +37,24 @@ public class SwaggerConfig {
                 .build();
     }
 
+    /**
+     * With springfox.documentation.auto-startup=false, as in the fast-start profile, the API scan runs
+     * in the background once the application is ready instead of delaying startup. Springfox takes its
+     * ObjectMapper from the MVC handler adapter when that is created, which lazy initialization may not
+     * have done yet, so the adapter is created first.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "springfox.documentation.auto-startup", havingValue = "false")
+    public ApplicationListener<ApplicationReadyEvent> deferredDocumentationStart(
+            DocumentationPluginsBootstrapper documentationPluginsBootstrapper,
+            ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter) {
+        return event -> {
+            handlerAdapter.getIfAvailable();
+            Thread thread = new Thread(documentationPluginsBootstrapper::start, "swagger-docs");
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+
 }
 
@@ -0,0 +1,31 @@
+package com.decisionlens.assignment.controller;
+
+import com.decisionlens.assignment.admission.AdaptiveConcurrencyLimiter;
+import com.decisionlens.assignment.admission.AdmissionInterceptor;
+import io.swagger.annotations.ApiOperation;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("api/v1/admission")
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "book.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionController {
+    private final AdmissionInterceptor admissionInterceptor;
+
+    /**
+     * Retrieve current limit, in flight count and accepted/rejected totals of the read and write limiters
+     * @return
+     */
+    @GetMapping
+    @ApiOperation("Retrieves admission control limits")
+    public ResponseEntity<List<AdaptiveConcurrencyLimiter>> getLimiters() {
+        return ResponseEntity.ok(admissionInterceptor.getLimiters());
+    }
+}
@@ -1,37 +1,60 @@
 package com.decisionlens.assignment.controller;
 
 import com.decisionlens.assignment.errorhandling.ErrorResponse;
+import com.decisionlens.assignment.listing.BookListingCache;
+import com.decisionlens.assignment.listing.ListingSnapshot;
 import com.decisionlens.assignment.model.Book;
 import com.decisionlens.assignment.service.BookService;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("api/v1/book")
 @AllArgsConstructor
 public class BookController {
     private final BookService bookService;
+    private final BookListingCache bookListingCache;
 
     /**
-     * Retrieve all books from database
+     * Retrieve all books from the listing snapshot, gzip compressed when the client accepts it
      * @return
      */
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    @ApiOperation("Retrieves books")
+    @ApiOperation(value = "Retrieves books", response = Book.class, responseContainer = "List")
     @ApiResponses(value = {
-            @ApiResponse(code = 200, message = "Books found", response = Book.class),
+            @ApiResponse(code = 200, message = "Books found", response = Book.class, responseContainer = "List"),
+            @ApiResponse(code = 304, message = "Books not modified since the given ETag"),
             @ApiResponse(code = 404, message = "Books not found", response = Book.class)
     })
-    public ResponseEntity<List<Book>> getAllBooks() {
-        return ResponseEntity.ok(bookService.getAllBooks());
+    public ResponseEntity<byte[]> getAllBooks(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ListingSnapshot listing = bookListingCache.get();
+        if (listing.isNotModified(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(listing.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(listing.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (listing.hasGzip() && ListingSnapshot.acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(listing.getGzip());
+        }
+        return response.body(listing.getJson());
     }
 
     /**
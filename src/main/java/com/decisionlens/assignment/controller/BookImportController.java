@@ -0,0 +1,99 @@
+package com.decisionlens.assignment.controller;
+
+import com.decisionlens.assignment.errorhandling.ErrorResponse;
+import com.decisionlens.assignment.imports.BookImportJob;
+import com.decisionlens.assignment.imports.ImportFormat;
+import com.decisionlens.assignment.service.BookImportService;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("api/v1/book/import")
+@AllArgsConstructor
+public class BookImportController {
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final String IMPORT_NOTES = "The upload is imported while it is received and the response is sent "
+            + "when the import has finished. Progress of a running import is listed by GET api/v1/book/import.";
+
+    private final BookImportService bookImportService;
+
+    /**
+     * Import books from a CSV upload with a title,author,numberOfPages header.
+     * The import runs within this request and the job is returned once the whole upload is processed;
+     * while it runs, its progress is listed by {@link #getAllJobs()}.
+     * @param body
+     * @return import job
+     */
+    @PostMapping(consumes = TEXT_CSV)
+    @ApiOperation(value = "Imports books from a CSV upload", notes = IMPORT_NOTES)
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Import finished, see the job for per row errors", response = BookImportJob.class),
+            @ApiResponse(code = 400, message = "Bad request", response = ErrorResponse.class),
+            @ApiResponse(code = 500, message = "Import failed, books of the batches before the failure were kept", response = BookImportJob.class)
+    })
+    public ResponseEntity<BookImportJob> importCsv(InputStream body) {
+        return importResponse(bookImportService.importBooks(body, ImportFormat.CSV));
+    }
+
+    /**
+     * Import books from a newline delimited JSON upload, one book per line.
+     * Runs within this request like {@link #importCsv(InputStream)}.
+     * @param body
+     * @return import job
+     */
+    @PostMapping(consumes = APPLICATION_NDJSON)
+    @ApiOperation(value = "Imports books from a newline delimited JSON upload", notes = IMPORT_NOTES)
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Import finished, see the job for per row errors", response = BookImportJob.class),
+            @ApiResponse(code = 500, message = "Import failed, books of the batches before the failure were kept", response = BookImportJob.class)
+    })
+    public ResponseEntity<BookImportJob> importNdjson(InputStream body) {
+        return importResponse(bookImportService.importBooks(body, ImportFormat.NDJSON));
+    }
+
+    /**
+     * Retrieve recent import jobs, including the ones still running
+     * @return
+     */
+    @GetMapping
+    @ApiOperation(value = "Retrieves import jobs", notes = "Lists running imports with their progress so far")
+    public ResponseEntity<List<BookImportJob>> getAllJobs() {
+        return ResponseEntity.ok(bookImportService.getAllJobs());
+    }
+
+    /**
+     * Retrieve progress of an import job
+     * @param jobId
+     * @return
+     */
+    @GetMapping("/{jobId}")
+    @ApiOperation("Retrieves an import job")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Import job found", response = BookImportJob.class),
+            @ApiResponse(code = 404, message = "Import job not found", response = ErrorResponse.class)
+    })
+    public ResponseEntity<BookImportJob> fetchJobById(@PathVariable("jobId") String jobId) {
+        return ResponseEntity.ok(bookImportService.fetchJobById(jobId));
+    }
+
+    /**
+     * A failed import still committed its earlier batches, so the job is returned with a server error.
+     */
+    private static ResponseEntity<BookImportJob> importResponse(BookImportJob job) {
+        URI location = URI.create("/api/v1/book/import/" + job.getId());
+        if (job.getStatus() == BookImportJob.Status.FAILED) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).location(location).body(job);
+        }
+        return ResponseEntity.created(location).body(job);
+    }
+}
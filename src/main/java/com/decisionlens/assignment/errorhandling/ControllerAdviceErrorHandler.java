@@ -3,42 +3,57 @@ package com.decisionlens.assignment.errorhandling;
 import com.decisionlens.assignment.exception.BookAlreadyExistsException;
 import com.decisionlens.assignment.exception.BookNotFoundException;
 import com.decisionlens.assignment.exception.InvalidRequestException;
+import com.decisionlens.assignment.exception.ServiceOverloadedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+/**
+ * Maps the domain exceptions to {@link ErrorResponse} shaped bodies. Misses and rejections are
+ * frequent under scraping or overload, so the bodies are written as pre-encoded bytes.
+ */
 @ControllerAdvice
 public class ControllerAdviceErrorHandler {
     private static final String MSG_NOT_FOUND = "Not Found";
     private static final String MSG_INVALID = "Invalid Request";
+    private static final String MSG_OVERLOADED = "Service Unavailable";
+
+    private final ErrorBodies errorBodies = new ErrorBodies(MSG_NOT_FOUND, MSG_OVERLOADED);
 
     @ExceptionHandler(InvalidRequestException.class)
-    public ResponseEntity getResponseForInvalidRequest(InvalidRequestException e) {
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
-                ErrorResponse.builder()
-                        .message(e.getMessage())
-                        .build()
+    public ResponseEntity<byte[]> getResponseForInvalidRequest(InvalidRequestException e) {
+        return json(HttpStatus.BAD_REQUEST).body(
+                errorBodies.cachedBody(e.getMessage())
         );
     }
 
     @ExceptionHandler(BookAlreadyExistsException.class)
-    public ResponseEntity getResponseForNonUniqueName(BookAlreadyExistsException e) {
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(
-                ErrorResponse.builder()
-                        .message(e.getMessage())
-                        .build()
+    public ResponseEntity<byte[]> getResponseForNonUniqueName(BookAlreadyExistsException e) {
+        return json(HttpStatus.CONFLICT).body(
+                errorBodies.body(e.getMessage())
         );
     }
 
     @ExceptionHandler(BookNotFoundException.class)
-    public ResponseEntity getResponseForResourceNotFound(BookNotFoundException e) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
-
-                ErrorResponse.builder()
-                        .message(MSG_NOT_FOUND)
-                        .detail(e.getMessage())
-                        .build()
+    public ResponseEntity<byte[]> getResponseForResourceNotFound(BookNotFoundException e) {
+        return json(HttpStatus.NOT_FOUND).body(
+                errorBodies.body(MSG_NOT_FOUND, e.getMessage())
         );
     }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<byte[]> getResponseForOverload(ServiceOverloadedException e) {
+        return json(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(
+                        errorBodies.cachedBody(MSG_OVERLOADED, e.getMessage())
+                );
+    }
+
+    private static ResponseEntity.BodyBuilder json(HttpStatus status) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON);
+    }
 }
@@ -0,0 +1,107 @@
+package com.decisionlens.assignment.errorhandling;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * JSON bodies in the shape of {@link ErrorResponse}, written without a builder or bean serialization.
+ * The part in front of the details is encoded up front for the fixed messages given to the
+ * constructor, and whole bodies are cached for errors whose text comes from a small fixed set.
+ */
+class ErrorBodies {
+    private static final int MAX_CACHED_BODIES = 256;
+    private static final byte[] MESSAGE_START = "{\"message\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DETAILS_START = ",\"details\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DETAILS_END = "]}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<String, byte[]> prefixes;
+    private final Map<List<String>, byte[]> bodies = new ConcurrentHashMap<>();
+
+    /**
+     * @param fixedMessages messages whose prefix is encoded once; any other message is encoded per call
+     */
+    ErrorBodies(String... fixedMessages) {
+        Map<String, byte[]> encoded = new HashMap<>();
+        for (String message : fixedMessages) {
+            encoded.put(message, encodePrefix(message));
+        }
+        this.prefixes = Collections.unmodifiableMap(encoded);
+    }
+
+    byte[] body(String message) {
+        return concat(prefix(message), DETAILS_END);
+    }
+
+    byte[] body(String message, String detail) {
+        return concat(prefix(message), quoted(detail), DETAILS_END);
+    }
+
+    /**
+     * Same as {@link #body(String)}, for messages that do not vary per request.
+     */
+    byte[] cachedBody(String message) {
+        return cached(Collections.singletonList(message), () -> body(message));
+    }
+
+    /**
+     * Same as {@link #body(String, String)}, for details that do not vary per request.
+     */
+    byte[] cachedBody(String message, String detail) {
+        return cached(Arrays.asList(message, detail), () -> body(message, detail));
+    }
+
+    private byte[] cached(List<String> key, Supplier<byte[]> encoder) {
+        byte[] body = bodies.get(key);
+        if (body == null) {
+            body = encoder.get();
+            if (bodies.size() < MAX_CACHED_BODIES) {
+                bodies.putIfAbsent(key, body);
+            }
+        }
+        return body;
+    }
+
+    private byte[] prefix(String message) {
+        byte[] prefix = prefixes.get(message);
+        return prefix != null ? prefix : encodePrefix(message);
+    }
+
+    private static byte[] encodePrefix(String message) {
+        return concat(MESSAGE_START, quoted(message), DETAILS_START);
+    }
+
+    private static byte[] quoted(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(value);
+        byte[] quoted = new byte[escaped.length + 2];
+        quoted[0] = '"';
+        System.arraycopy(escaped, 0, quoted, 1, escaped.length);
+        quoted[quoted.length - 1] = '"';
+        return quoted;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] result = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,29 @@
+package com.decisionlens.assignment.event;
+
+import com.decisionlens.assignment.model.Book;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the book service after a mutation has been written to the repository.
+ * Listeners are invoked synchronously on the request thread.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookChangedEvent {
+
+    public enum Type { SAVED, DELETED }
+
+    private final Type type;
+    private final Long bookId;
+    private final Book book;
+
+    public static BookChangedEvent saved(Book book) {
+        return new BookChangedEvent(Type.SAVED, book.getId(), book);
+    }
+
+    public static BookChangedEvent deleted(Long bookId) {
+        return new BookChangedEvent(Type.DELETED, bookId, null);
+    }
+}
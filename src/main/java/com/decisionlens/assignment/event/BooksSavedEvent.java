@@ -0,0 +1,18 @@
+package com.decisionlens.assignment.event;
+
+import com.decisionlens.assignment.model.Book;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published once for a batch of books saved in one transaction, e.g. by a bulk import, instead of a
+ * {@link BookChangedEvent} per book. Listeners are invoked synchronously on the importing thread.
+ */
+@Getter
+@AllArgsConstructor
+public class BooksSavedEvent {
+
+    private final List<Book> books;
+}
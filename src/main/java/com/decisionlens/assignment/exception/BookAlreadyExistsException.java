@@ -4,9 +4,29 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.CONFLICT)
-public class BookAlreadyExistsException extends RuntimeException{
+public class BookAlreadyExistsException extends BookApiException{
+    private final String title;
+    private final String message;
 
     public BookAlreadyExistsException(String message){
-        super(message);
+        this(null, message);
+    }
+
+    private BookAlreadyExistsException(String title, String message) {
+        this.title = title;
+        this.message = message;
+    }
+
+    public static BookAlreadyExistsException withTitle(String title) {
+        return new BookAlreadyExistsException(title, null);
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return message != null ? message : "Book with title " + title + "already exists";
     }
 }
@@ -0,0 +1,26 @@
+package com.decisionlens.assignment.exception;
+
+/**
+ * Base of the expected failures of the book API that are answered with an HTTP error status.
+ * They are part of normal traffic, e.g. lookups of unknown ids, so no stack trace is captured and
+ * the message is only built once it is read.
+ */
+public abstract class BookApiException extends RuntimeException {
+    private String cachedMessage;
+
+    protected BookApiException() {
+        super(null, null, false, false);
+    }
+
+    protected abstract String buildMessage();
+
+    @Override
+    public String getMessage() {
+        String message = cachedMessage;
+        if (message == null) {
+            message = buildMessage();
+            cachedMessage = message;
+        }
+        return message;
+    }
+}
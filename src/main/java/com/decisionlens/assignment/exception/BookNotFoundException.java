@@ -4,13 +4,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(value = HttpStatus.NOT_FOUND)
-public class BookNotFoundException extends RuntimeException{
+public class BookNotFoundException extends BookApiException{
     private String resourceName;
     private String fieldName;
     private Object fieldValue;
 
     public BookNotFoundException( String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s not found %s : %s", resourceName, fieldName, fieldValue));
         this.resourceName = resourceName;
         this.fieldName = fieldName;
         this.fieldValue = fieldValue;
@@ -28,5 +27,8 @@ public class BookNotFoundException extends RuntimeException{
         return fieldValue;
     }
 
-
-}
\ No newline at end of file
+    @Override
+    protected String buildMessage() {
+        return resourceName + " not found " + fieldName + " : " + fieldValue;
+    }
+}
@@ -4,9 +4,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public class InvalidRequestException extends RuntimeException {
+public class InvalidRequestException extends BookApiException {
+    private final String message;
+
     public InvalidRequestException(String message){
-        super(message);
+        this.message = message;
     }
 
+    @Override
+    protected String buildMessage() {
+        return message;
+    }
 }
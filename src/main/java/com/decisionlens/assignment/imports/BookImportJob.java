@@ -0,0 +1,134 @@
+package com.decisionlens.assignment.imports;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one bulk import. Counters are updated by the importing request thread and may be
+ * read concurrently through the job resource.
+ */
+public class BookImportJob {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    /** Same format as the publishedDate of a book. */
+    private static final String TIMESTAMP_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    @Value
+    public static class RowError {
+        long rowNumber;
+        String message;
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final ImportFormat format;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final int maxReportedErrors;
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final List<RowError> errors = new ArrayList<>();
+    private volatile Status status = Status.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile String failure;
+
+    public BookImportJob(ImportFormat format, int maxReportedErrors) {
+        this.format = format;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    public void imported(int count) {
+        imported.addAndGet(count);
+    }
+
+    public void rejected(long rowNumber, String message) {
+        rejected.incrementAndGet();
+        report(rowNumber, message);
+    }
+
+    public void duplicate(long rowNumber, String title) {
+        duplicates.incrementAndGet();
+        report(rowNumber, "Book with title " + title + " already exists");
+    }
+
+    public void complete() {
+        finish(Status.COMPLETED);
+    }
+
+    public void fail(String message) {
+        failure = message;
+        finish(Status.FAILED);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ImportFormat getFormat() {
+        return format;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = TIMESTAMP_FORMAT)
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = TIMESTAMP_FORMAT)
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    public long getImported() {
+        return imported.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getDuplicates() {
+        return duplicates.get();
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public List<RowError> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+
+    private void report(long rowNumber, String message) {
+        synchronized (errors) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(rowNumber, message));
+            }
+        }
+    }
+
+    private void finish(Status finalStatus) {
+        finishedAt = LocalDateTime.now();
+        status = finalStatus;
+    }
+}
@@ -0,0 +1,29 @@
+package com.decisionlens.assignment.imports;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "book.import")
+public class BookImportProperties {
+
+    /**
+     * Books written per transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Rows longer than this many characters are rejected without being buffered.
+     */
+    private int maxRowLength = 64 * 1024;
+
+    /**
+     * Row errors kept on a job; further errors are only counted.
+     */
+    private int maxReportedErrors = 100;
+
+    /**
+     * Number of most recent jobs kept for the job resource.
+     */
+    private int retainedJobs = 50;
+}
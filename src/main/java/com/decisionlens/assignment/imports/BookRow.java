@@ -0,0 +1,27 @@
+package com.decisionlens.assignment.imports;
+
+import com.decisionlens.assignment.model.Book;
+import lombok.Value;
+
+/**
+ * One parsed row of an import upload: either a book or the reason the row could not be read.
+ */
+@Value
+public class BookRow {
+
+    long rowNumber;
+    Book book;
+    String error;
+
+    public static BookRow valid(long rowNumber, Book book) {
+        return new BookRow(rowNumber, book, null);
+    }
+
+    public static BookRow invalid(long rowNumber, String error) {
+        return new BookRow(rowNumber, null, error);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
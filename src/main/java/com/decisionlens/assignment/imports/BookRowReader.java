@@ -0,0 +1,14 @@
+package com.decisionlens.assignment.imports;
+
+import java.io.IOException;
+
+/**
+ * Pulls rows from an upload one at a time, so only the current row is held in memory.
+ */
+public interface BookRowReader {
+
+    /**
+     * @return the next row, or null once the input is exhausted
+     */
+    BookRow next() throws IOException;
+}
@@ -0,0 +1,153 @@
+package com.decisionlens.assignment.imports;
+
+import com.decisionlens.assignment.exception.InvalidRequestException;
+import com.decisionlens.assignment.model.Book;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads books from RFC 4180 style CSV. The first record is a header naming the {@code title},
+ * {@code author} and optional {@code numberOfPages} columns; other columns are ignored.
+ * Quoted fields may contain commas, doubled quotes and line breaks.
+ */
+public class CsvBookRowReader implements BookRowReader {
+
+    private static final int NO_CHAR = -2;
+
+    private final Reader reader;
+    private final int maxRowLength;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private final int titleColumn;
+    private final int authorColumn;
+    private final int pagesColumn;
+    private long rowNumber = 1;
+    private int pushedBack = NO_CHAR;
+    private boolean rowTooLong;
+    private boolean fieldStarted;
+
+    public CsvBookRowReader(Reader reader, int maxRowLength) throws IOException {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+        this.maxRowLength = maxRowLength;
+        List<String> header = readRecord();
+        List<String> columns = new ArrayList<>();
+        if (header != null) {
+            for (String column : header) {
+                columns.add(column.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        this.titleColumn = columns.indexOf("title");
+        this.authorColumn = columns.indexOf("author");
+        this.pagesColumn = columns.indexOf("numberofpages");
+        if (titleColumn < 0 || authorColumn < 0) {
+            throw new InvalidRequestException("CSV header must name the title and author columns");
+        }
+    }
+
+    @Override
+    public BookRow next() throws IOException {
+        List<String> record;
+        while ((record = readRecord()) != null) {
+            rowNumber++;
+            if (rowTooLong) {
+                return BookRow.invalid(rowNumber, "Row is longer than " + maxRowLength + " characters");
+            }
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            Book book = Book.builder()
+                    .title(column(record, titleColumn))
+                    .author(column(record, authorColumn))
+                    .build();
+            String pages = column(record, pagesColumn);
+            if (pages != null) {
+                try {
+                    book.setNumberOfPages(Integer.parseInt(pages.trim()));
+                } catch (NumberFormatException e) {
+                    return BookRow.invalid(rowNumber, "numberOfPages is not a number: " + pages);
+                }
+            }
+            return BookRow.valid(rowNumber, book);
+        }
+        return null;
+    }
+
+    private static String column(List<String> record, int index) {
+        if (index < 0 || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    /**
+     * Reads one record, keeping at most {@code maxRowLength} characters of it. Once a record is too
+     * long the rest of it is read up to the line break and discarded, fields included.
+     * @return the fields of the record, or null at the end of the input
+     */
+    private List<String> readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        fieldStarted = false;
+        rowTooLong = false;
+        int length = 0;
+        boolean quoted = false;
+        boolean readAny = false;
+        int c;
+        while ((c = read()) != -1) {
+            readAny = true;
+            if (++length > maxRowLength && !rowTooLong) {
+                rowTooLong = true;
+                fields.clear();
+                field.setLength(0);
+            }
+            if (quoted) {
+                if (c != '"') {
+                    append(c);
+                } else if ((c = read()) == '"') {
+                    append(c);
+                } else {
+                    quoted = false;
+                    pushedBack = c;
+                }
+            } else if (c == '"' && !fieldStarted) {
+                quoted = true;
+            } else if (c == ',') {
+                if (!rowTooLong) {
+                    fields.add(field.toString());
+                }
+                field.setLength(0);
+                fieldStarted = false;
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                append(c);
+            }
+        }
+        if (!readAny) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void append(int c) {
+        fieldStarted = true;
+        if (!rowTooLong) {
+            field.append((char) c);
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NO_CHAR) {
+            int c = pushedBack;
+            pushedBack = NO_CHAR;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,6 @@
+package com.decisionlens.assignment.imports;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
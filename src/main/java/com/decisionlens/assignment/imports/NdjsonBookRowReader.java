@@ -0,0 +1,69 @@
+package com.decisionlens.assignment.imports;
+
+import com.decisionlens.assignment.model.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads books from newline delimited JSON, one book object per line. A malformed line only
+ * rejects that row.
+ */
+public class NdjsonBookRowReader implements BookRowReader {
+
+    private final Reader reader;
+    private final ObjectMapper objectMapper;
+    private final int maxRowLength;
+    private final StringBuilder line = new StringBuilder();
+    private long rowNumber;
+    private boolean lineTooLong;
+
+    public NdjsonBookRowReader(Reader reader, ObjectMapper objectMapper, int maxRowLength) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+        this.objectMapper = objectMapper;
+        this.maxRowLength = maxRowLength;
+    }
+
+    @Override
+    public BookRow next() throws IOException {
+        String json;
+        while ((json = readLine()) != null) {
+            rowNumber++;
+            if (lineTooLong) {
+                return BookRow.invalid(rowNumber, "Row is longer than " + maxRowLength + " characters");
+            }
+            if (json.isBlank()) {
+                continue;
+            }
+            try {
+                Book book = objectMapper.readValue(json, Book.class);
+                book.setId(null);
+                return BookRow.valid(rowNumber, book);
+            } catch (JsonProcessingException e) {
+                return BookRow.invalid(rowNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    private String readLine() throws IOException {
+        line.setLength(0);
+        lineTooLong = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n') {
+            if (line.length() < maxRowLength) {
+                line.append((char) c);
+            } else {
+                lineTooLong = true;
+            }
+            c = reader.read();
+        }
+        return line.toString();
+    }
+}
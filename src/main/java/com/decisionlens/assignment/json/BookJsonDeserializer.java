@@ -0,0 +1,135 @@
+package com.decisionlens.assignment.json;
+
+import com.decisionlens.assignment.model.Book;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import static com.decisionlens.assignment.json.BookJsonFormat.*;
+
+/**
+ * Reads a book field by field; unknown fields are skipped like the default bean deserializer does.
+ * Known fields only accept values their type can be read from, anything else fails the whole book.
+ */
+public class BookJsonDeserializer extends StdDeserializer<Book> {
+
+    public BookJsonDeserializer() {
+        super(Book.class);
+    }
+
+    @Override
+    public Book deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        }
+        Book book = new Book();
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case ID:
+                    book.setId(readLong(parser, context, value));
+                    break;
+                case TITLE:
+                    book.setTitle(readString(parser, context, value));
+                    break;
+                case AUTHOR:
+                    book.setAuthor(readString(parser, context, value));
+                    break;
+                case NUMBER_OF_PAGES:
+                    book.setNumberOfPages(readInt(parser, context, value));
+                    break;
+                case PUBLISHED_DATE:
+                    book.setPublishedDate(parsePublishedDate(parser, context, value));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            return (Book) context.handleUnexpectedToken(Book.class, parser);
+        }
+        return book;
+    }
+
+    /**
+     * Scalars are read as text like the bean deserializer does; objects and arrays are rejected before
+     * their fields could be mistaken for the book's own.
+     */
+    private static String readString(JsonParser parser, DeserializationContext context, JsonToken value)
+            throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value.isScalarValue()) {
+            return parser.getText();
+        }
+        return (String) context.handleUnexpectedToken(String.class, parser);
+    }
+
+    private static Long readLong(JsonParser parser, DeserializationContext context, JsonToken value)
+            throws IOException {
+        switch (value) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getValueAsLong();
+            case VALUE_STRING:
+                String text = parser.getText().trim();
+                if (text.isEmpty()) {
+                    return null;
+                }
+                try {
+                    return Long.parseLong(text);
+                } catch (NumberFormatException e) {
+                    return (Long) context.handleWeirdStringValue(Long.class, text, "not a valid Long value");
+                }
+            default:
+                return (Long) context.handleUnexpectedToken(Long.class, parser);
+        }
+    }
+
+    private static int readInt(JsonParser parser, DeserializationContext context, JsonToken value)
+            throws IOException {
+        switch (value) {
+            case VALUE_NULL:
+                return 0;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getValueAsInt();
+            case VALUE_STRING:
+                String text = parser.getText().trim();
+                if (text.isEmpty()) {
+                    return 0;
+                }
+                try {
+                    return Integer.parseInt(text);
+                } catch (NumberFormatException e) {
+                    return (Integer) context.handleWeirdStringValue(Integer.class, text, "not a valid int value");
+                }
+            default:
+                return (Integer) context.handleUnexpectedToken(Integer.class, parser);
+        }
+    }
+
+    private static LocalDateTime parsePublishedDate(JsonParser parser, DeserializationContext context,
+                                                    JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        String text = parser.getText();
+        try {
+            return LocalDateTime.parse(text, PUBLISHED_DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            return (LocalDateTime) context.handleWeirdStringValue(LocalDateTime.class, text,
+                    "expected format yyyy-MM-dd HH:mm:ss");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.decisionlens.assignment.json;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Wire format of {@link com.decisionlens.assignment.model.Book}. Field names are encoded once and
+ * the date formatter is immutable, so both are shared by every request.
+ */
+final class BookJsonFormat {
+
+    static final String ID = "id";
+    static final String TITLE = "title";
+    static final String AUTHOR = "author";
+    static final String NUMBER_OF_PAGES = "numberOfPages";
+    static final String PUBLISHED_DATE = "publishedDate";
+
+    static final SerializedString ID_NAME = new SerializedString(ID);
+    static final SerializedString TITLE_NAME = new SerializedString(TITLE);
+    static final SerializedString AUTHOR_NAME = new SerializedString(AUTHOR);
+    static final SerializedString NUMBER_OF_PAGES_NAME = new SerializedString(NUMBER_OF_PAGES);
+    static final SerializedString PUBLISHED_DATE_NAME = new SerializedString(PUBLISHED_DATE);
+
+    static final DateTimeFormatter PUBLISHED_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private BookJsonFormat() {
+    }
+}
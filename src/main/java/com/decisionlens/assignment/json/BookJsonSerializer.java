@@ -0,0 +1,45 @@
+package com.decisionlens.assignment.json;
+
+import com.decisionlens.assignment.model.Book;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+import static com.decisionlens.assignment.json.BookJsonFormat.*;
+
+/**
+ * Writes a book straight to the generator without bean introspection. Lists of books are written by
+ * Jackson's list serializer, which resolves this serializer once and reuses it for every element.
+ */
+public class BookJsonSerializer extends StdSerializer<Book> {
+
+    public BookJsonSerializer() {
+        super(Book.class);
+    }
+
+    @Override
+    public void serialize(Book book, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(book);
+        generator.writeFieldName(ID_NAME);
+        if (book.getId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(book.getId());
+        }
+        generator.writeFieldName(TITLE_NAME);
+        generator.writeString(book.getTitle());
+        generator.writeFieldName(AUTHOR_NAME);
+        generator.writeString(book.getAuthor());
+        generator.writeFieldName(NUMBER_OF_PAGES_NAME);
+        generator.writeNumber(book.getNumberOfPages());
+        generator.writeFieldName(PUBLISHED_DATE_NAME);
+        if (book.getPublishedDate() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(PUBLISHED_DATE_FORMAT.format(book.getPublishedDate()));
+        }
+        generator.writeEndObject();
+    }
+}
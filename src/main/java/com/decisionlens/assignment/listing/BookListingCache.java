@@ -0,0 +1,115 @@
+package com.decisionlens.assignment.listing;
+
+import com.decisionlens.assignment.event.BookChangedEvent;
+import com.decisionlens.assignment.event.BooksSavedEvent;
+import com.decisionlens.assignment.model.Book;
+import com.decisionlens.assignment.service.BookService;
+import com.decisionlens.assignment.tracing.RequestTrace;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized book listing between changes. The listing is built on the first request after
+ * a change, serialized and compressed once, and every following request is answered with the same
+ * bytes until the next {@link BookChangedEvent} or {@link BooksSavedEvent}.
+ * <p>
+ * Each change bumps the catalog generation. A snapshot remembers the generation read before the
+ * books were loaded and is only served while that generation is current, so a listing built
+ * concurrently with a change is never served after the change has been published.
+ */
+@Component
+@EnableConfigurationProperties(BookListingProperties.class)
+public class BookListingCache {
+
+    private static final TypeReference<List<Book>> BOOK_LIST = new TypeReference<List<Book>>() {
+    };
+
+    private final BookService bookService;
+    private final ObjectWriter listWriter;
+    private final BookListingProperties properties;
+    private final String etagPrefix = "W/\"" + Long.toHexString(System.currentTimeMillis()) + "-";
+    private final AtomicLong generation = new AtomicLong();
+    private final Object buildLock = new Object();
+    private volatile ListingSnapshot snapshot;
+
+    public BookListingCache(BookService bookService, ObjectMapper objectMapper, BookListingProperties properties) {
+        this.bookService = bookService;
+        this.listWriter = objectMapper.writerFor(BOOK_LIST);
+        this.properties = properties;
+    }
+
+    /**
+     * @return the listing at the current generation, built by at most one request at a time
+     */
+    public ListingSnapshot get() {
+        ListingSnapshot current = snapshot;
+        if (current != null && current.getGeneration() == generation.get()) {
+            return current;
+        }
+        synchronized (buildLock) {
+            current = snapshot;
+            long buildGeneration = generation.get();
+            if (current != null && current.getGeneration() == buildGeneration) {
+                return current;
+            }
+            current = build(buildGeneration);
+            snapshot = current;
+            return current;
+        }
+    }
+
+    @EventListener({BookChangedEvent.class, BooksSavedEvent.class})
+    public void onBookChanged() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private ListingSnapshot build(long buildGeneration) {
+        List<Book> books = bookService.getAllBooks();
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.enter(RequestTrace.Stage.SERIALIZATION);
+        }
+        try {
+            byte[] json = listWriter.writeValueAsBytes(books);
+            byte[] gzip = json.length >= properties.getCompressionMinSize().toBytes()
+                    ? gzip(json, properties.getCompressionLevel())
+                    : null;
+            return new ListingSnapshot(buildGeneration, etagPrefix + buildGeneration + "\"", json, gzip);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize the book listing", e);
+        } finally {
+            if (trace != null) {
+                trace.exit();
+            }
+        }
+    }
+
+    static byte[] gzip(byte[] bytes, int level) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 32);
+        try (OutputStream out = new LeveledGzipOutputStream(compressed, level)) {
+            out.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, 8192);
+            def.setLevel(level);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.decisionlens.assignment.listing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.zip.Deflater;
+
+@Data
+@ConfigurationProperties(prefix = "book.listing")
+public class BookListingProperties {
+
+    /**
+     * Listings smaller than this are only kept uncompressed. Keep it in line with
+     * server.compression.min-response-size so small listings are not compressed on the fly instead.
+     */
+    private DataSize compressionMinSize = DataSize.ofKilobytes(2);
+
+    /**
+     * Deflate level of the gzip copy, from 1 to 9. A listing is compressed once per change, so the
+     * default trades build time for the smallest body.
+     */
+    private int compressionLevel = Deflater.BEST_COMPRESSION;
+}
@@ -0,0 +1,90 @@
+package com.decisionlens.assignment.listing;
+
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * The serialized book listing at one catalog generation, as JSON and, when large enough to be worth
+ * it, as gzip. The arrays are handed to the response as they are and must not be modified.
+ */
+@Getter
+public class ListingSnapshot {
+
+    private final long generation;
+    private final String etag;
+    private final byte[] json;
+    private final byte[] gzip;
+
+    ListingSnapshot(long generation, String etag, byte[] json, byte[] gzip) {
+        this.generation = generation;
+        this.etag = etag;
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    /**
+     * Weak comparison of an If-None-Match header against this snapshot's entity tag.
+     */
+    public boolean isNotModified(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether an Accept-Encoding header allows gzip, either by name or through a wildcard,
+     * with a non zero quality
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean accepted = false;
+        for (String coding : acceptEncoding.split(",")) {
+            int parameters = coding.indexOf(';');
+            String name = (parameters < 0 ? coding : coding.substring(0, parameters)).trim().toLowerCase(Locale.ROOT);
+            boolean gzipName = name.equals("gzip") || name.equals("x-gzip");
+            if (!gzipName && !name.equals("*")) {
+                continue;
+            }
+            boolean acceptable = parameters < 0 || !isZeroQuality(coding.substring(parameters + 1));
+            if (gzipName) {
+                // An explicit coding overrides the wildcard, whatever their order.
+                return acceptable;
+            }
+            accepted = acceptable;
+        }
+        return accepted;
+    }
+
+    private static boolean isZeroQuality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            String[] pair = parameter.split("=", 2);
+            if (pair.length == 2 && pair[0].trim().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(pair[1].trim()) == 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
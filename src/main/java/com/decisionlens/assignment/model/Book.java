@@ -1,6 +1,9 @@
 package com.decisionlens.assignment.model;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
+import com.decisionlens.assignment.json.BookJsonDeserializer;
+import com.decisionlens.assignment.json.BookJsonSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,13 +11,15 @@ import lombok.NoArgsConstructor;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
-import java.util.Date;
+import java.time.LocalDateTime;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity(name = "Book")
 @Builder
+@JsonSerialize(using = BookJsonSerializer.class)
+@JsonDeserialize(using = BookJsonDeserializer.class)
 public class Book{
 
     @Id
@@ -31,12 +36,10 @@ public class Book{
     @Column(name = "total_pages")
     private int numberOfPages;
 
-    @Temporal(TemporalType.TIMESTAMP)
-    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
     @Column(name = "published_date", nullable = false)
-    private Date publishedDate;
+    private LocalDateTime publishedDate;
     @PrePersist
     private void onCreate() {
-        publishedDate = new Date();
+        publishedDate = LocalDateTime.now();
     }
 }
\ No newline at end of file
@@ -0,0 +1,234 @@
+package com.decisionlens.assignment.persistence;
+
+import com.decisionlens.assignment.event.BookChangedEvent;
+import com.decisionlens.assignment.event.BooksSavedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the in-memory catalog durable across restarts.
+ * On startup the latest snapshot is bulk loaded and the write-ahead log is replayed on top of it;
+ * afterwards every {@link BookChangedEvent} is appended to the log, and the log is periodically
+ * folded into a fresh snapshot. Never initialized lazily, the catalog has to be restored before the
+ * first request is served.
+ */
+@Slf4j
+@Lazy(false)
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(BookPersistenceProperties.class)
+@ConditionalOnProperty(prefix = "book.persistence", name = "enabled", havingValue = "true")
+public class BookJournal {
+
+    private static final String SELECT_ALL = "SELECT id, title, author, total_pages, published_date FROM book";
+    private static final String INSERT = "INSERT INTO book (id, title, author, total_pages, published_date) VALUES (?, ?, ?, ?, ?)";
+    private static final String MERGE = "MERGE INTO book (id, title, author, total_pages, published_date) KEY (id) VALUES (?, ?, ?, ?, ?)";
+    private static final String DELETE = "DELETE FROM book WHERE id = ?";
+
+    private final BookPersistenceProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private Path snapshotPath;
+    private Path logPath;
+    private Path archivedLogPath;
+    private BookWriteAheadLog writeAheadLog;
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void recover() throws IOException {
+        // With deferred repository bootstrap Hibernate is built, and the schema created, on a background
+        // thread; the factory proxy blocks until that has finished.
+        entityManagerFactory.getMetamodel();
+        Path directory = Paths.get(properties.getDirectory());
+        Files.createDirectories(directory);
+        snapshotPath = directory.resolve("books.snapshot");
+        logPath = directory.resolve("books.wal");
+        archivedLogPath = directory.resolve("books.wal.old");
+
+        long started = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(properties.getRestoreBatchSize());
+        long restored = BookSnapshotFile.read(snapshotPath, record -> {
+            batch.add(toRow(record));
+            if (batch.size() >= properties.getRestoreBatchSize()) {
+                flushBatch(INSERT, batch);
+            }
+        });
+        flushBatch(INSERT, batch);
+
+        Map<Long, BookRecord> logged = new LinkedHashMap<>();
+        boolean interruptedSnapshot = Files.exists(archivedLogPath);
+        if (interruptedSnapshot) {
+            BookWriteAheadLog.replay(archivedLogPath, record -> logged.put(record.getId(), record));
+        }
+        writeAheadLog = BookWriteAheadLog.open(logPath, properties.getFsyncPolicy(),
+                record -> logged.put(record.getId(), record));
+        applyLogged(logged.values());
+        restartIdentity();
+        if (interruptedSnapshot) {
+            compact();
+        }
+
+        executor = new ScheduledThreadPoolExecutor(2, runnable -> {
+            Thread thread = new Thread(runnable, "book-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (properties.getFsyncPolicy() == FsyncPolicy.GROUP) {
+            long interval = properties.getGroupCommitInterval().toNanos();
+            executor.scheduleWithFixedDelay(this::sync, interval, interval, TimeUnit.NANOSECONDS);
+        }
+        log.info("Restored {} books from snapshot and {} logged mutations in {} ms", restored, logged.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        try {
+            writeAheadLog.append(BookRecord.of(event));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not log book mutation", e);
+        }
+        compactIfDue();
+    }
+
+    @EventListener
+    public void onBooksSaved(BooksSavedEvent event) {
+        List<BookRecord> records = new ArrayList<>(event.getBooks().size());
+        event.getBooks().forEach(book -> records.add(BookRecord.saved(book)));
+        try {
+            writeAheadLog.appendAll(records);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not log book mutations", e);
+        }
+        compactIfDue();
+    }
+
+    private void compactIfDue() {
+        if (writeAheadLog.entries() >= properties.getSnapshotEveryOps() && compacting.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    compact();
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        if (properties.isSnapshotOnShutdown()) {
+            compact();
+        }
+        writeAheadLog.close();
+    }
+
+    /**
+     * Writes a snapshot of the current catalog and drops the log entries it covers.
+     * The log is archived first; entries appended while the snapshot is being written go to the new log
+     * and are replayed idempotently on top of the snapshot. If a previous snapshot was interrupted, the
+     * archived log is still in place and is kept until this snapshot has been committed.
+     */
+    private void compact() {
+        long started = System.nanoTime();
+        try {
+            if (!Files.exists(archivedLogPath)) {
+                writeAheadLog.rotate(archivedLogPath);
+            }
+            long written;
+            try (BookSnapshotFile.Writer writer = BookSnapshotFile.writer(snapshotPath)) {
+                jdbcTemplate.query(SELECT_ALL, (RowCallbackHandler) resultSet -> {
+                    try {
+                        writer.append(toRecord(resultSet));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                written = writer.commit();
+            }
+            Files.deleteIfExists(archivedLogPath);
+            log.info("Wrote snapshot of {} books in {} ms", written,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Book snapshot failed, mutations remain in the write-ahead log", e);
+        }
+    }
+
+    private void sync() {
+        try {
+            writeAheadLog.sync();
+        } catch (IOException e) {
+            log.error("Could not sync the book write-ahead log", e);
+        }
+    }
+
+    private void applyLogged(Iterable<BookRecord> records) {
+        List<Object[]> deletes = new ArrayList<>();
+        List<Object[]> saves = new ArrayList<>();
+        for (BookRecord record : records) {
+            if (record.isDeleted()) {
+                deletes.add(new Object[]{record.getId()});
+            } else {
+                saves.add(toRow(record));
+            }
+        }
+        flushBatch(DELETE, deletes);
+        flushBatch(MERGE, saves);
+    }
+
+    private void restartIdentity() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM book", Long.class);
+        jdbcTemplate.execute("ALTER TABLE book ALTER COLUMN id RESTART WITH " + (maxId + 1));
+    }
+
+    private void flushBatch(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private static Object[] toRow(BookRecord record) {
+        Timestamp publishedDate = record.getPublishedDate() == BookRecord.NO_DATE
+                ? null : new Timestamp(record.getPublishedDate());
+        return new Object[]{record.getId(), record.getTitle(), record.getAuthor(), record.getNumberOfPages(),
+                publishedDate};
+    }
+
+    private static BookRecord toRecord(ResultSet resultSet) throws SQLException {
+        Timestamp publishedDate = resultSet.getTimestamp("published_date");
+        return new BookRecord(BookChangedEvent.Type.SAVED, resultSet.getLong("id"), resultSet.getString("title"),
+                resultSet.getString("author"), resultSet.getInt("total_pages"),
+                publishedDate == null ? BookRecord.NO_DATE : publishedDate.getTime());
+    }
+}
@@ -0,0 +1,40 @@
+package com.decisionlens.assignment.persistence;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "book.persistence")
+public class BookPersistenceProperties {
+
+    /**
+     * Enables the snapshot and write-ahead log so the catalog survives restarts.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding the snapshot and write-ahead log files.
+     */
+    private String directory = "data";
+
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.GROUP;
+
+    /**
+     * How often pending log entries are forced when the policy is GROUP.
+     */
+    private Duration groupCommitInterval = Duration.ofMillis(5);
+
+    /**
+     * Number of logged mutations after which a new snapshot is written and the log is rotated.
+     */
+    private int snapshotEveryOps = 100_000;
+
+    private boolean snapshotOnShutdown = true;
+
+    /**
+     * Rows per JDBC batch while restoring the catalog on startup.
+     */
+    private int restoreBatchSize = 1_000;
+}
@@ -0,0 +1,45 @@
+package com.decisionlens.assignment.persistence;
+
+import com.decisionlens.assignment.event.BookChangedEvent;
+import com.decisionlens.assignment.model.Book;
+import lombok.Value;
+
+import java.sql.Timestamp;
+
+/**
+ * Immutable copy of a book mutation as it is stored in the snapshot and write-ahead log.
+ */
+@Value
+public class BookRecord {
+
+    public static final long NO_DATE = Long.MIN_VALUE;
+
+    BookChangedEvent.Type type;
+    long id;
+    String title;
+    String author;
+    int numberOfPages;
+    long publishedDate;
+
+    public static BookRecord of(BookChangedEvent event) {
+        if (event.getType() == BookChangedEvent.Type.DELETED) {
+            return deleted(event.getBookId());
+        }
+        return saved(event.getBook());
+    }
+
+    public static BookRecord saved(Book book) {
+        long publishedDate = book.getPublishedDate() == null
+                ? NO_DATE : Timestamp.valueOf(book.getPublishedDate()).getTime();
+        return new BookRecord(BookChangedEvent.Type.SAVED, book.getId(), book.getTitle(), book.getAuthor(),
+                book.getNumberOfPages(), publishedDate);
+    }
+
+    public static BookRecord deleted(long id) {
+        return new BookRecord(BookChangedEvent.Type.DELETED, id, null, null, 0, NO_DATE);
+    }
+
+    public boolean isDeleted() {
+        return type == BookChangedEvent.Type.DELETED;
+    }
+}
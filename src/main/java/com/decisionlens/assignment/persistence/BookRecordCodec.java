@@ -0,0 +1,167 @@
+package com.decisionlens.assignment.persistence;
+
+import com.decisionlens.assignment.event.BookChangedEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Binary layout shared by the snapshot and the write-ahead log.
+ * Every record is framed as {@code [payload length][crc32][payload]} so a torn or corrupt
+ * frame is detected before it is applied.
+ */
+final class BookRecordCodec {
+
+    static final int FILE_HEADER_BYTES = 8;
+    static final int FRAME_HEADER_BYTES = 8;
+    private static final long MAP_WINDOW_BYTES = 256L << 20;
+    private static final int NULL_STRING = -1;
+    private static final BookChangedEvent.Type[] TYPES = BookChangedEvent.Type.values();
+
+    private BookRecordCodec() {
+    }
+
+    static ByteBuffer encode(BookRecord record) {
+        byte[] title = utf8(record.getTitle());
+        byte[] author = utf8(record.getAuthor());
+        int payloadLength = 1 + 8;
+        if (!record.isDeleted()) {
+            payloadLength += 4 + 8 + stringLength(title) + stringLength(author);
+        }
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_BYTES + payloadLength);
+        frame.position(FRAME_HEADER_BYTES);
+        frame.put((byte) record.getType().ordinal());
+        frame.putLong(record.getId());
+        if (!record.isDeleted()) {
+            frame.putInt(record.getNumberOfPages());
+            frame.putLong(record.getPublishedDate());
+            putString(frame, title);
+            putString(frame, author);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(frame.array(), FRAME_HEADER_BYTES, payloadLength);
+        frame.putInt(0, payloadLength);
+        frame.putInt(4, (int) crc.getValue());
+        frame.flip();
+        return frame;
+    }
+
+    /**
+     * Decodes the frame at the buffer's position and advances past it.
+     * @return the record, or null if the frame is truncated or fails its checksum
+     */
+    static BookRecord decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < FRAME_HEADER_BYTES) {
+            return null;
+        }
+        int payloadLength = buffer.getInt(start);
+        int checksum = buffer.getInt(start + 4);
+        if (payloadLength < 9 || payloadLength > buffer.remaining() - FRAME_HEADER_BYTES) {
+            return null;
+        }
+        ByteBuffer payload = buffer.slice(start + FRAME_HEADER_BYTES, payloadLength);
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+        int type = payload.get();
+        if (type < 0 || type >= TYPES.length) {
+            return null;
+        }
+        long id = payload.getLong();
+        BookRecord record;
+        if (TYPES[type] == BookChangedEvent.Type.DELETED) {
+            record = BookRecord.deleted(id);
+        } else {
+            int numberOfPages = payload.getInt();
+            long publishedDate = payload.getLong();
+            String title = getString(payload);
+            String author = getString(payload);
+            record = new BookRecord(TYPES[type], id, title, author, numberOfPages, publishedDate);
+        }
+        buffer.position(start + FRAME_HEADER_BYTES + payloadLength);
+        return record;
+    }
+
+    /**
+     * Reads consecutive frames from the channel through read-only memory mappings.
+     * @return the offset just past the last intact frame
+     */
+    static long readFrames(FileChannel channel, long position, Consumer<BookRecord> consumer) throws IOException {
+        long size = channel.size();
+        while (position < size) {
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(MAP_WINDOW_BYTES, size - position));
+            BookRecord record;
+            while ((record = decode(window)) != null) {
+                consumer.accept(record);
+            }
+            if (window.position() == 0) {
+                break;
+            }
+            position += window.position();
+        }
+        return position;
+    }
+
+    static ByteBuffer fileHeader(int magic, int version) {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+        header.putInt(magic).putInt(version).flip();
+        return header;
+    }
+
+    static void checkFileHeader(FileChannel channel, Path path, int magic, int version) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // keep reading until the header is complete or the file ends
+        }
+        header.flip();
+        if (header.remaining() < FILE_HEADER_BYTES || header.getInt() != magic) {
+            throw new IOException(path + " is not a book persistence file");
+        }
+        int fileVersion = header.getInt();
+        if (fileVersion != version) {
+            throw new IOException(path + " has unsupported version " + fileVersion);
+        }
+    }
+
+    static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringLength(byte[] value) {
+        return 4 + (value == null ? 0 : value.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(NULL_STRING);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
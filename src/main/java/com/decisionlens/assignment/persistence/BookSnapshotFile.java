@@ -0,0 +1,119 @@
+package com.decisionlens.assignment.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Compact binary image of the whole catalog: a file header, the record count and one frame per book.
+ * A snapshot is written to a temporary file and atomically moved into place, so readers only ever see
+ * a complete one.
+ */
+final class BookSnapshotFile {
+
+    static final int MAGIC = 0x424B534E;
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = BookRecordCodec.FILE_HEADER_BYTES + 8;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private BookSnapshotFile() {
+    }
+
+    /**
+     * Passes every book of the snapshot to the consumer.
+     * @return number of books read, 0 when no snapshot exists yet
+     */
+    static long read(Path path, Consumer<BookRecord> consumer) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            BookRecordCodec.checkFileHeader(channel, path, MAGIC, VERSION);
+            ByteBuffer count = ByteBuffer.allocate(8);
+            channel.read(count, BookRecordCodec.FILE_HEADER_BYTES);
+            long expected = count.flip().getLong();
+            long[] read = {0};
+            long end = BookRecordCodec.readFrames(channel, HEADER_BYTES, record -> {
+                consumer.accept(record);
+                read[0]++;
+            });
+            if (read[0] != expected || end != channel.size()) {
+                throw new IOException("Snapshot " + path + " is corrupt: expected " + expected
+                        + " books but read " + read[0]);
+            }
+            return expected;
+        }
+    }
+
+    static Writer writer(Path path) throws IOException {
+        return new Writer(path);
+    }
+
+    static final class Writer implements Closeable {
+        private final Path target;
+        private final Path temp;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+        private long count;
+        private boolean committed;
+
+        private Writer(Path target) throws IOException {
+            this.target = target;
+            this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+            this.channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.channel.position(HEADER_BYTES);
+        }
+
+        void append(BookRecord record) throws IOException {
+            ByteBuffer frame = BookRecordCodec.encode(record);
+            if (frame.remaining() > buffer.remaining()) {
+                flushBuffer();
+            }
+            if (frame.remaining() > buffer.capacity()) {
+                BookRecordCodec.writeFully(channel, frame);
+            } else {
+                buffer.put(frame);
+            }
+            count++;
+        }
+
+        /**
+         * Completes the snapshot and atomically replaces the previous one.
+         * @return number of books written
+         */
+        long commit() throws IOException {
+            flushBuffer();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.put(BookRecordCodec.fileHeader(MAGIC, VERSION)).putLong(count).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+            channel.close();
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            committed = true;
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            buffer.flip();
+            BookRecordCodec.writeFully(channel, buffer);
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.decisionlens.assignment.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Append-only log of book mutations made since the last snapshot.
+ * With {@link FsyncPolicy#GROUP} appenders block until {@link #sync()} has forced their entry,
+ * so one force covers every mutation appended during the commit interval.
+ */
+final class BookWriteAheadLog implements Closeable {
+
+    static final int MAGIC = 0x424B574C;
+    static final int VERSION = 1;
+
+    private final Path path;
+    private final FsyncPolicy fsyncPolicy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition synced = lock.newCondition();
+    private FileChannel channel;
+    private long appended;
+    private long durable;
+    private int entries;
+
+    private BookWriteAheadLog(Path path, FsyncPolicy fsyncPolicy, FileChannel channel, int entries) {
+        this.path = path;
+        this.fsyncPolicy = fsyncPolicy;
+        this.channel = channel;
+        this.entries = entries;
+    }
+
+    /**
+     * Opens the log for appending, creating it if needed. Existing entries are passed to the consumer
+     * and a torn tail left behind by a crash is cut off.
+     */
+    static BookWriteAheadLog open(Path path, FsyncPolicy fsyncPolicy, Consumer<BookRecord> replay) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            int[] entries = {0};
+            if (channel.size() < BookRecordCodec.FILE_HEADER_BYTES) {
+                writeHeader(channel);
+            } else {
+                BookRecordCodec.checkFileHeader(channel, path, MAGIC, VERSION);
+                long end = BookRecordCodec.readFrames(channel, BookRecordCodec.FILE_HEADER_BYTES, record -> {
+                    replay.accept(record);
+                    entries[0]++;
+                });
+                if (end < channel.size()) {
+                    channel.truncate(end);
+                    channel.force(true);
+                }
+            }
+            channel.position(channel.size());
+            return new BookWriteAheadLog(path, fsyncPolicy, channel, entries[0]);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a log that is no longer appended to, e.g. one archived by an interrupted snapshot.
+     * @return number of intact entries
+     */
+    static int replay(Path path, Consumer<BookRecord> replay) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            BookRecordCodec.checkFileHeader(channel, path, MAGIC, VERSION);
+            int[] entries = {0};
+            BookRecordCodec.readFrames(channel, BookRecordCodec.FILE_HEADER_BYTES, record -> {
+                replay.accept(record);
+                entries[0]++;
+            });
+            return entries[0];
+        }
+    }
+
+    /**
+     * Appends the record and returns once it is as durable as the fsync policy requires.
+     */
+    void append(BookRecord record) throws IOException {
+        ByteBuffer frame = BookRecordCodec.encode(record);
+        lock.lock();
+        try {
+            BookRecordCodec.writeFully(channel, frame);
+            entries++;
+            awaitDurable(++appended);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends the records in order and returns once all of them are as durable as the fsync policy
+     * requires, so a batch waits for a single force instead of one per record.
+     */
+    void appendAll(List<BookRecord> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] frames = new ByteBuffer[records.size()];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = BookRecordCodec.encode(records.get(i));
+        }
+        lock.lock();
+        try {
+            for (ByteBuffer frame : frames) {
+                BookRecordCodec.writeFully(channel, frame);
+            }
+            entries += frames.length;
+            appended += frames.length;
+            awaitDurable(appended);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces every appended entry to disk and releases the appenders waiting for it.
+     */
+    void sync() throws IOException {
+        lock.lock();
+        try {
+            if (durable < appended) {
+                channel.force(false);
+                durable = appended;
+                synced.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the current log to {@code archive} and starts an empty one in its place.
+     */
+    void rotate(Path archive) throws IOException {
+        lock.lock();
+        try {
+            channel.force(false);
+            channel.close();
+            Files.move(path, archive, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            writeHeader(channel);
+            durable = appended;
+            entries = 0;
+            synced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Called with the lock held after writing the entries up to {@code sequence}.
+     */
+    private void awaitDurable(long sequence) throws IOException {
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            channel.force(false);
+            durable = sequence;
+        } else if (fsyncPolicy == FsyncPolicy.GROUP) {
+            try {
+                while (durable < sequence) {
+                    synced.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the write-ahead log to sync");
+            }
+        }
+    }
+
+    int entries() {
+        lock.lock();
+        try {
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (channel.isOpen()) {
+                channel.force(false);
+                channel.close();
+            }
+            durable = appended;
+            synced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void writeHeader(FileChannel channel) throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        BookRecordCodec.writeFully(channel, BookRecordCodec.fileHeader(MAGIC, VERSION));
+        channel.force(true);
+    }
+}
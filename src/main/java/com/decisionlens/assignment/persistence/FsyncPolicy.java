@@ -0,0 +1,13 @@
+package com.decisionlens.assignment.persistence;
+
+/**
+ * When appended write-ahead log entries are forced to disk.
+ */
+public enum FsyncPolicy {
+    /** Force the log before every mutation is acknowledged. */
+    ALWAYS,
+    /** Acknowledge a mutation once the next periodic group force has covered it. */
+    GROUP,
+    /** Leave flushing to the operating system; a crash may lose the most recent mutations. */
+    NEVER
+}
@@ -4,10 +4,13 @@ import com.decisionlens.assignment.model.Book;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
     Optional<Book> findByTitle(String title);
+    List<Book> findByTitleIn(Collection<String> titles);
 }
 
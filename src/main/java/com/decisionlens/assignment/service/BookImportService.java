@@ -0,0 +1,14 @@
+package com.decisionlens.assignment.service;
+
+import com.decisionlens.assignment.imports.BookImportJob;
+import com.decisionlens.assignment.imports.ImportFormat;
+
+import java.io.InputStream;
+import java.util.List;
+
+public interface BookImportService {
+
+    BookImportJob importBooks(InputStream input, ImportFormat format);
+    BookImportJob fetchJobById(String jobId);
+    List<BookImportJob> getAllJobs();
+}
@@ -0,0 +1,158 @@
+package com.decisionlens.assignment.service;
+
+import com.decisionlens.assignment.event.BooksSavedEvent;
+import com.decisionlens.assignment.exception.BookNotFoundException;
+import com.decisionlens.assignment.exception.InvalidRequestException;
+import com.decisionlens.assignment.imports.BookImportJob;
+import com.decisionlens.assignment.imports.BookImportProperties;
+import com.decisionlens.assignment.imports.BookRow;
+import com.decisionlens.assignment.imports.BookRowReader;
+import com.decisionlens.assignment.imports.CsvBookRowReader;
+import com.decisionlens.assignment.imports.ImportFormat;
+import com.decisionlens.assignment.imports.NdjsonBookRowReader;
+import com.decisionlens.assignment.model.Book;
+import com.decisionlens.assignment.repo.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports books from an upload while it is still being received. Rows are read one at a time and
+ * written in batches, each in its own transaction, so memory stays bounded by the batch size and the
+ * upload is only consumed as fast as the database accepts the books. Each committed batch is
+ * published as one {@link BooksSavedEvent}, so the journal logs it with a single sync.
+ * <p>
+ * The import runs on the uploading request thread. The job is registered before the first row is
+ * read, so its progress is visible in {@link #getAllJobs()} while the upload is still running.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@EnableConfigurationProperties(BookImportProperties.class)
+public class BookImportServiceImpl implements BookImportService {
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final BookImportProperties properties;
+    private final Map<String, BookImportJob> jobs = new LinkedHashMap<>();
+
+    @Override
+    public BookImportJob importBooks(InputStream input, ImportFormat format) {
+        BookRowReader rows = openReader(new InputStreamReader(input, StandardCharsets.UTF_8), format);
+        BookImportJob job = new BookImportJob(format, properties.getMaxReportedErrors());
+        register(job);
+        List<BookRow> batch = new ArrayList<>(properties.getBatchSize());
+        try {
+            BookRow row;
+            while ((row = rows.next()) != null) {
+                job.rowRead();
+                if (!row.isValid()) {
+                    job.rejected(row.getRowNumber(), row.getError());
+                } else if (!BookServiceImpl.validateAddingBook(row.getBook())) {
+                    job.rejected(row.getRowNumber(), "Adding Book input is not valid");
+                } else {
+                    batch.add(row);
+                    if (batch.size() >= properties.getBatchSize()) {
+                        writeBatch(job, batch);
+                    }
+                }
+            }
+            writeBatch(job, batch);
+            job.complete();
+        } catch (IOException | RuntimeException e) {
+            log.error("Import job {} failed after {} rows, {} books were imported", job.getId(), job.getRowsRead(),
+                    job.getImported(), e);
+            job.fail(e.getMessage());
+        }
+        return job;
+    }
+
+    @Override
+    public BookImportJob fetchJobById(String jobId) {
+        synchronized (jobs) {
+            BookImportJob job = jobs.get(jobId);
+            if (job == null) {
+                throw new BookNotFoundException("Import job", "id", jobId);
+            }
+            return job;
+        }
+    }
+
+    @Override
+    public List<BookImportJob> getAllJobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    private BookRowReader openReader(Reader reader, ImportFormat format) {
+        try {
+            if (format == ImportFormat.CSV) {
+                return new CsvBookRowReader(reader, properties.getMaxRowLength());
+            }
+            return new NdjsonBookRowReader(reader, objectMapper, properties.getMaxRowLength());
+        } catch (IOException e) {
+            throw new InvalidRequestException("Import upload could not be read");
+        }
+    }
+
+    /**
+     * Skips titles repeated within the batch or already stored, then saves the rest in one transaction.
+     * Titles from earlier batches are already committed, so they are caught by the repository lookup.
+     */
+    private void writeBatch(BookImportJob job, List<BookRow> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<String, BookRow> byTitle = new LinkedHashMap<>();
+        for (BookRow row : batch) {
+            if (byTitle.putIfAbsent(row.getBook().getTitle(), row) != null) {
+                job.duplicate(row.getRowNumber(), row.getBook().getTitle());
+            }
+        }
+        List<Book> savedBooks = transactionTemplate.execute(status -> {
+            for (Book existing : bookRepository.findByTitleIn(byTitle.keySet())) {
+                BookRow duplicate = byTitle.remove(existing.getTitle());
+                if (duplicate != null) {
+                    job.duplicate(duplicate.getRowNumber(), existing.getTitle());
+                }
+            }
+            List<Book> books = new ArrayList<>(byTitle.size());
+            byTitle.values().forEach(row -> books.add(row.getBook()));
+            return bookRepository.saveAll(books);
+        });
+        if (!savedBooks.isEmpty()) {
+            eventPublisher.publishEvent(new BooksSavedEvent(savedBooks));
+        }
+        job.imported(savedBooks.size());
+        batch.clear();
+    }
+
+    private void register(BookImportJob job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            Iterator<String> ids = jobs.keySet().iterator();
+            while (jobs.size() > properties.getRetainedJobs() && ids.hasNext()) {
+                ids.next();
+                ids.remove();
+            }
+        }
+    }
+}
@@ -1,15 +1,16 @@
 package com.decisionlens.assignment.service;
 
+import com.decisionlens.assignment.event.BookChangedEvent;
 import com.decisionlens.assignment.exception.BookAlreadyExistsException;
 import com.decisionlens.assignment.exception.BookNotFoundException;
 import com.decisionlens.assignment.exception.InvalidRequestException;
 import com.decisionlens.assignment.model.Book;
 import com.decisionlens.assignment.repo.BookRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.util.Date;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @AllArgsConstructor
@@ -17,6 +18,7 @@ import java.util.List;
 public class BookServiceImpl implements BookService{
 
     private final BookRepository bookRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<Book> getAllBooks() {
@@ -35,12 +37,12 @@ public class BookServiceImpl implements BookService{
             throw new InvalidRequestException("Adding Book input is not valid");
         }
         if(bookRepository.findByTitle(book.getTitle()).isPresent()){
-            throw new BookAlreadyExistsException("Book with title " +book.getTitle()+ "already exists");
+            throw BookAlreadyExistsException.withTitle(book.getTitle());
         }
-        return bookRepository.save(book);
+        return saveAndPublish(book);
     }
 
-    private boolean validateAddingBook(Book book) {
+    static boolean validateAddingBook(Book book) {
         if(book.getTitle() == null || book.getAuthor() == null){
             return false;
         }
@@ -54,15 +56,22 @@ public class BookServiceImpl implements BookService{
                     existingBook.setTitle(bookDetails.getTitle());
                     existingBook.setAuthor(bookDetails.getAuthor());
                     existingBook.setNumberOfPages(bookDetails.getNumberOfPages());
-                    existingBook.setPublishedDate(new Date());
-                    return bookRepository.save(existingBook);
+                    existingBook.setPublishedDate(LocalDateTime.now());
+                    return saveAndPublish(existingBook);
                 })
                 .orElseGet(() ->
-                         bookRepository.save(bookDetails));
+                         saveAndPublish(bookDetails));
     }
     @Override
     public void removeBook(Long bookId) {
         Book book = bookRepository.findById(bookId).orElseThrow(() -> new BookNotFoundException("Book id", "for delete", bookId));
         bookRepository.delete(book);
+        eventPublisher.publishEvent(BookChangedEvent.deleted(book.getId()));
+    }
+
+    private Book saveAndPublish(Book book) {
+        Book savedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(BookChangedEvent.saved(savedBook));
+        return savedBook;
     }
 }
@@ -0,0 +1,59 @@
+package com.decisionlens.assignment.tracing;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Charges statement execution and flushes to the current trace and counts the statements.
+ * Hibernate creates one instance per session from {@code hibernate.session.events.auto}, which is
+ * set in the application properties independently of {@code book.tracing.enabled}.
+ */
+public class HibernateTraceListener extends BaseSessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.countSqlStatement();
+            trace.enter(RequestTrace.Stage.SQL);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        exit();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.countSqlStatement();
+            trace.enter(RequestTrace.Stage.SQL);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        exit();
+    }
+
+    @Override
+    public void flushStart() {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.enter(RequestTrace.Stage.FLUSH);
+        }
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        exit();
+    }
+
+    private static void exit() {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.exit();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.decisionlens.assignment.tracing;
+
+/**
+ * Time spent per stage by one sampled request. Stages nest, e.g. SQL inside a repository call
+ * inside the service, and each stage is charged only its exclusive time, so the stage durations add up
+ * to at most the total. A trace belongs to the request thread and is not thread safe.
+ */
+public class RequestTrace {
+
+    public enum Stage {
+        SERVICE("service"),
+        REPOSITORY("repo"),
+        FLUSH("flush"),
+        SQL("sql"),
+        SERIALIZATION("ser");
+
+        private final String metricName;
+
+        Stage(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+    private static final int MAX_DEPTH = 16;
+
+    private final long startNanos = System.nanoTime();
+    private final long[] stageNanos = new long[Stage.values().length];
+    private final Stage[] stack = new Stage[MAX_DEPTH];
+    private int depth;
+    private long stageStartNanos;
+    private long totalNanos;
+    private int sqlStatements;
+
+    /**
+     * @return the trace of the request being handled on this thread, or null if it is not sampled
+     */
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    static RequestTrace start() {
+        RequestTrace trace = new RequestTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public void enter(Stage stage) {
+        long now = System.nanoTime();
+        charge(now);
+        if (depth < MAX_DEPTH) {
+            stack[depth] = stage;
+        }
+        depth++;
+        stageStartNanos = now;
+    }
+
+    public void exit() {
+        if (depth == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        charge(now);
+        depth--;
+        stageStartNanos = now;
+    }
+
+    public void countSqlStatement() {
+        sqlStatements++;
+    }
+
+    /**
+     * Closes the stages still open and takes the total duration up to now.
+     */
+    void finish() {
+        while (depth > 0) {
+            exit();
+        }
+        totalNanos = System.nanoTime() - startNanos;
+    }
+
+    long getStageNanos(Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    long getTotalNanos() {
+        return totalNanos;
+    }
+
+    int getSqlStatements() {
+        return sqlStatements;
+    }
+
+    /**
+     * @return the stages as a Server-Timing header value with durations in milliseconds
+     */
+    String toServerTiming() {
+        StringBuilder header = new StringBuilder(128);
+        for (Stage stage : Stage.values()) {
+            long nanos = stageNanos[stage.ordinal()];
+            if (nanos > 0 || stage == Stage.SQL && sqlStatements > 0) {
+                appendMetric(header, stage.getMetricName(), nanos);
+                if (stage == Stage.SQL) {
+                    header.append(";desc=\"").append(sqlStatements).append(" statements\"");
+                }
+                header.append(", ");
+            }
+        }
+        appendMetric(header, "total", totalNanos);
+        return header.toString();
+    }
+
+    private void charge(long now) {
+        if (depth > 0 && depth <= MAX_DEPTH) {
+            stageNanos[stack[depth - 1].ordinal()] += now - stageStartNanos;
+        }
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        long micros = nanos / 1_000;
+        header.append(name).append(";dur=").append(micros / 1_000).append('.');
+        long fraction = micros % 1_000;
+        if (fraction < 100) {
+            header.append('0');
+        }
+        if (fraction < 10) {
+            header.append('0');
+        }
+        header.append(fraction);
+    }
+}
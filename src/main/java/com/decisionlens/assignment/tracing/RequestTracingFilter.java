@@ -0,0 +1,91 @@
+package com.decisionlens.assignment.tracing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every API request and traces a sample of them per stage. Sampled requests get a Server-Timing
+ * header; any request slower than the threshold is logged as one key=value record, with its stage
+ * breakdown and SQL statement count when it was sampled.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(TracingProperties.class)
+@ConditionalOnProperty(prefix = "book.tracing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestTracingFilter extends OncePerRequestFilter {
+
+    private final TracingProperties properties;
+
+    public RequestTracingFilter(TracingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        if (ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                logIfSlow(request, response, System.nanoTime() - started, null);
+            }
+            return;
+        }
+        RequestTrace trace = RequestTrace.start();
+        try {
+            if (properties.isServerTimingHeader()) {
+                ServerTimingResponseWrapper wrapper = new ServerTimingResponseWrapper(response, trace);
+                chain.doFilter(request, wrapper);
+                wrapper.writeServerTiming();
+            } else {
+                chain.doFilter(request, response);
+            }
+        } finally {
+            RequestTrace.clear();
+            trace.finish();
+            logIfSlow(request, response, trace.getTotalNanos(), trace);
+        }
+    }
+
+    private void logIfSlow(HttpServletRequest request, HttpServletResponse response, long totalNanos,
+                           RequestTrace trace) {
+        if (totalNanos < properties.getSlowThreshold().toNanos()) {
+            return;
+        }
+        if (trace == null) {
+            log.warn("slow_request method={} uri={} status={} total_ms={} sampled=false",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(), millis(totalNanos));
+            return;
+        }
+        log.warn("slow_request method={} uri={} status={} total_ms={} sampled=true service_ms={} repo_ms={} "
+                        + "flush_ms={} sql_ms={} sql_count={} ser_ms={}",
+                request.getMethod(), request.getRequestURI(), response.getStatus(), millis(totalNanos),
+                millis(trace.getStageNanos(RequestTrace.Stage.SERVICE)),
+                millis(trace.getStageNanos(RequestTrace.Stage.REPOSITORY)),
+                millis(trace.getStageNanos(RequestTrace.Stage.FLUSH)),
+                millis(trace.getStageNanos(RequestTrace.Stage.SQL)),
+                trace.getSqlStatements(),
+                millis(trace.getStageNanos(RequestTrace.Stage.SERIALIZATION)));
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -0,0 +1,120 @@
+package com.decisionlens.assignment.tracing;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Adds the Server-Timing header right before the first byte of the body is written, the last moment
+ * a header can still be sent. Jackson buffers its output, so for most responses serialization has
+ * completed by then and is included in the header.
+ */
+class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final RequestTrace trace;
+    private boolean headerWritten;
+    private ServletOutputStream outputStream;
+
+    ServerTimingResponseWrapper(HttpServletResponse response, RequestTrace trace) {
+        super(response);
+        this.trace = trace;
+    }
+
+    /**
+     * Writes the header if nothing has committed the response yet, e.g. for responses without a body.
+     */
+    void writeServerTiming() {
+        if (!headerWritten) {
+            headerWritten = true;
+            if (!getResponse().isCommitted()) {
+                trace.finish();
+                ((HttpServletResponse) getResponse()).setHeader(SERVER_TIMING, trace.toServerTiming());
+            }
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new ServerTimingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        writeServerTiming();
+        return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        writeServerTiming();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        writeServerTiming();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        writeServerTiming();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        writeServerTiming();
+        super.sendRedirect(location);
+    }
+
+    private class ServerTimingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+
+        ServerTimingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            writeServerTiming();
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            writeServerTiming();
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writeServerTiming();
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writeServerTiming();
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.decisionlens.assignment.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Charges calls into the service layer and the repositories to their stage of the current trace.
+ * Requests that are not sampled only pay for the thread local lookup.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "book.tracing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TracingAspect {
+
+    @Around("within(com.decisionlens.assignment.service..*)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, RequestTrace.Stage.SERVICE);
+    }
+
+    @Around("this(com.decisionlens.assignment.repo.BookRepository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, RequestTrace.Stage.REPOSITORY);
+    }
+
+    private static Object trace(ProceedingJoinPoint joinPoint, RequestTrace.Stage stage) throws Throwable {
+        RequestTrace trace = RequestTrace.current();
+        if (trace == null) {
+            return joinPoint.proceed();
+        }
+        trace.enter(stage);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            trace.exit();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.decisionlens.assignment.tracing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "book.tracing")
+public class TracingProperties {
+
+    /**
+     * Whether requests are traced at all. When disabled, also drop
+     * spring.jpa.properties.hibernate.session.events.auto, which registers the Hibernate listener.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Fraction of API requests, between 0 and 1, that get a per stage breakdown.
+     */
+    private double sampleRate = 0.1;
+
+    /**
+     * Requests slower than this are logged, with their breakdown if they were sampled.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /**
+     * Whether sampled requests return their breakdown in a Server-Timing header.
+     */
+    private boolean serverTimingHeader = true;
+}
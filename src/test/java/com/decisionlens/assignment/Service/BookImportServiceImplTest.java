@@ -0,0 +1,178 @@
+package com.decisionlens.assignment.Service;
+
+import com.decisionlens.assignment.event.BookChangedEvent;
+import com.decisionlens.assignment.event.BooksSavedEvent;
+import com.decisionlens.assignment.exception.InvalidRequestException;
+import com.decisionlens.assignment.imports.BookImportJob;
+import com.decisionlens.assignment.imports.ImportFormat;
+import com.decisionlens.assignment.model.Book;
+import com.decisionlens.assignment.repo.BookRepository;
+import com.decisionlens.assignment.service.BookImportServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@RecordApplicationEvents
+@Import({BookImportServiceImpl.class, JacksonAutoConfiguration.class})
+public class BookImportServiceImplTest {
+
+    @MockBean
+    BookRepository bookRepository;
+
+    @MockBean
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    BookImportServiceImpl sut;
+
+    @Autowired
+    ApplicationEvents events;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @BeforeEach
+    public void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(bookRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Importing CSV skips invalid rows and duplicate titles")
+    public void test_givenCsvUpload_ImportValidUniqueRows() {
+        Book existingBook = Book.builder()
+                .id(1L)
+                .title("Existing assignment")
+                .author("Rajesh")
+                .build();
+        when(bookRepository.findByTitleIn(any())).thenReturn(List.of(existingBook));
+
+        BookImportJob job = sut.importBooks(upload("title,author,numberOfPages\n"
+                + "Rajesh assignment,Rajesh,1\n"
+                + "\"Rajesh, second assignment\",\"Rajesh \"\"R\"\"\",2\n"
+                + "Rajesh assignment,Rajesh,3\n"
+                + "Existing assignment,Rajesh,4\n"
+                + ",Rajesh,5\n"
+                + "Rajesh third assignment,Rajesh,many\n"), ImportFormat.CSV);
+
+        assertEquals(BookImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(6, job.getRowsRead());
+        assertEquals(2, job.getImported());
+        assertEquals(2, job.getDuplicates());
+        assertEquals(2, job.getRejected());
+        verify(bookRepository, times(1)).saveAll(argThat(books ->
+                ((List<Book>) books).get(1).getAuthor().equals("Rajesh \"R\"")));
+    }
+
+    @Test
+    @DisplayName("Importing CSV rejects an overlong row and keeps reading after it")
+    public void test_givenCsvRowOverMaxLength_RejectOnlyThatRow() {
+        when(bookRepository.findByTitleIn(any())).thenReturn(List.of());
+
+        BookImportJob job = sut.importBooks(upload("title,author\n"
+                + "Rajesh assignment" + ",".repeat(200_000) + "\"unterminated,\n\"\n"
+                + "Rajesh second assignment,Rajesh\n"), ImportFormat.CSV);
+
+        assertEquals(BookImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(1, job.getImported());
+        assertEquals(1, job.getRejected());
+        assertEquals(2, job.getErrors().get(0).getRowNumber());
+        assertTrue(job.getErrors().get(0).getMessage().startsWith("Row is longer than"));
+    }
+
+    @Test
+    @DisplayName("Importing NDJSON rejects only the malformed line")
+    public void test_givenNdjsonUploadWithMalformedLine_RejectOnlyThatRow() {
+        when(bookRepository.findByTitleIn(any())).thenReturn(List.of());
+
+        BookImportJob job = sut.importBooks(upload("{\"title\":\"Rajesh assignment\",\"author\":\"Rajesh\",\"numberOfPages\":1}\n"
+                + "{\"title\":\"broken\n"
+                + "\n"
+                + "{\"title\":\"Rajesh second assignment\",\"author\":\"Rajesh\"}\n"), ImportFormat.NDJSON);
+
+        assertEquals(BookImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(2, job.getImported());
+        assertEquals(1, job.getRejected());
+        assertEquals(2, job.getErrors().get(0).getRowNumber());
+        assertSame(job, sut.fetchJobById(job.getId()));
+    }
+
+    @Test
+    @DisplayName("Importing publishes one event per written batch")
+    public void test_givenSeveralBatches_PublishOneEventPerBatch() {
+        when(bookRepository.findByTitleIn(any())).thenReturn(List.of());
+        StringBuilder csv = new StringBuilder("title,author\n");
+        for (int i = 0; i < 1200; i++) {
+            csv.append("Rajesh assignment ").append(i).append(",Rajesh\n");
+        }
+
+        BookImportJob job = sut.importBooks(upload(csv.toString()), ImportFormat.CSV);
+
+        assertEquals(1200, job.getImported());
+        assertEquals(List.of(500, 500, 200), events.stream(BooksSavedEvent.class)
+                .map(event -> event.getBooks().size())
+                .collect(Collectors.toList()));
+        assertEquals(0, events.stream(BookChangedEvent.class).count());
+    }
+
+    @Test
+    @DisplayName("Importing fails the job when a batch cannot be written")
+    public void test_givenRepositoryFailure_FailJob() {
+        when(bookRepository.findByTitleIn(any())).thenThrow(new DataAccessResourceFailureException("Database is down"));
+
+        BookImportJob job = sut.importBooks(upload("title,author\nRajesh assignment,Rajesh\n"), ImportFormat.CSV);
+
+        assertEquals(BookImportJob.Status.FAILED, job.getStatus());
+        assertEquals("Database is down", job.getFailure());
+        assertEquals(0, job.getImported());
+    }
+
+    @Test
+    @DisplayName("Job timestamps are written in the same format as book dates")
+    public void test_givenFinishedJob_FormatTimestamps() {
+        when(bookRepository.findByTitleIn(any())).thenReturn(List.of());
+
+        BookImportJob job = sut.importBooks(upload("title,author\nRajesh assignment,Rajesh\n"), ImportFormat.CSV);
+        JsonNode json = objectMapper.valueToTree(job);
+
+        assertTrue(json.get("startedAt").asText().matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}"),
+                json.get("startedAt").toString());
+        assertTrue(json.get("finishedAt").asText().matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}"),
+                json.get("finishedAt").toString());
+    }
+
+    @Test
+    @DisplayName("Importing CSV without a title column is rejected")
+    public void test_givenCsvWithoutHeader_ReturnInvalidRequestException() {
+        assertThrows(InvalidRequestException.class,
+                () -> sut.importBooks(upload("name,writer\nRajesh assignment,Rajesh\n"), ImportFormat.CSV));
+    }
+
+    private static InputStream upload(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
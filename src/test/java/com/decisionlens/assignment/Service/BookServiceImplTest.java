@@ -84,6 +84,7 @@ public class BookServiceImplTest {
                 .author("")
                 .numberOfPages(1)
                 .build();
+        when(bookRepository.save(mockBook)).thenReturn(mockBook);
         try{
             sut.addBook(mockBook);
         }catch (InvalidRequestException e) {
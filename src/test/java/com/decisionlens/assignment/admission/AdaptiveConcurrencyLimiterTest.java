@@ -0,0 +1,88 @@
+package com.decisionlens.assignment.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long NO_LOAD_RTT = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long QUEUEING_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    @DisplayName("Requests over the limit are rejected until one is released")
+    public void test_givenFullLimit_RejectRequest() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.release(System.nanoTime());
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    @DisplayName("Limit grows at no-load latency, shrinks when latency rises and recovers afterwards")
+    public void test_givenLatencyChanges_AdaptLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50);
+        SyntheticClock clock = new SyntheticClock();
+
+        saturate(limiter, clock, NO_LOAD_RTT, 100);
+        int grownLimit = limiter.getLimit();
+        assertTrue(grownLimit > 50, "grown limit " + grownLimit);
+
+        saturate(limiter, clock, QUEUEING_RTT, 100);
+        int shrunkLimit = limiter.getLimit();
+        // With the gradient at its floor the limit settles where L = L / 2 + sqrt(L), i.e. at 4.
+        assertTrue(shrunkLimit <= 5, "shrunk limit " + shrunkLimit);
+
+        saturate(limiter, clock, NO_LOAD_RTT, 100);
+        assertTrue(limiter.getLimit() > shrunkLimit, "recovered limit " + limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Latency of a lightly loaded limiter does not move the limit")
+    public void test_givenLowInFlight_KeepLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50);
+        SyntheticClock clock = new SyntheticClock();
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            long start = clock.now;
+            limiter.release(start, clock.advance(QUEUEING_RTT));
+        }
+
+        assertEquals(50, limiter.getLimit());
+    }
+
+    /**
+     * Keeps the limiter full and completes {@code samples} requests that each took {@code rtt}.
+     */
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, SyntheticClock clock, long rtt, int samples) {
+        for (int i = 0; i < samples; i++) {
+            while (limiter.tryAcquire()) {
+                // fill up to the current limit
+            }
+            long start = clock.now;
+            limiter.release(start, clock.advance(rtt));
+        }
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter("read", initialLimit, 1, 500, 2.0, TimeUnit.SECONDS.toNanos(30));
+    }
+
+    private static class SyntheticClock {
+        long now = System.nanoTime();
+
+        long advance(long nanos) {
+            now += nanos;
+            return now;
+        }
+    }
+}
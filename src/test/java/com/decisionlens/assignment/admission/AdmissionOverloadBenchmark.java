@@ -0,0 +1,79 @@
+package com.decisionlens.assignment.admission;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latency of accepted requests when far more clients than database connections hammer the service,
+ * with and without the limiter. Runs on wall-clock time, so it is left to {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class AdmissionOverloadBenchmark {
+
+    private static final int CLIENTS = 64;
+    private static final int DATABASE_CONNECTIONS = 8;
+    private static final long QUERY_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long RUN_NANOS = TimeUnit.MILLISECONDS.toNanos(1500);
+
+    @Test
+    public void overload() throws InterruptedException {
+        long unlimitedP99 = p99OfAcceptedRequests(null);
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter("read", 50, 1, 500, 2.0, TimeUnit.SECONDS.toNanos(30));
+        long limitedP99 = p99OfAcceptedRequests(limiter);
+
+        System.out.printf("%-40s %,10d us%n", "unlimited p99", unlimitedP99 / 1_000);
+        System.out.printf("%-40s %,10d us (limit %d, rejected %,d)%n", "limited p99", limitedP99 / 1_000,
+                limiter.getLimit(), limiter.getRejected());
+        assertTrue(limitedP99 < unlimitedP99,
+                "limited p99 " + limitedP99 / 1_000 + "us, unlimited p99 " + unlimitedP99 / 1_000 + "us");
+    }
+
+    /**
+     * Simulates clients hammering a database with a fixed number of connections, where every query
+     * waits in a fair queue for a connection. Rejected clients back off like they would on Retry-After.
+     */
+    private static long p99OfAcceptedRequests(AdaptiveConcurrencyLimiter limiter) throws InterruptedException {
+        Semaphore connections = new Semaphore(DATABASE_CONNECTIONS, true);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        long end = System.nanoTime() + RUN_NANOS;
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            Thread client = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    long start = System.nanoTime();
+                    if (limiter != null && !limiter.tryAcquire()) {
+                        LockSupport.parkNanos(QUERY_NANOS / 2);
+                        continue;
+                    }
+                    connections.acquireUninterruptibly();
+                    try {
+                        LockSupport.parkNanos(QUERY_NANOS);
+                    } finally {
+                        connections.release();
+                        if (limiter != null) {
+                            limiter.release(start);
+                        }
+                    }
+                    latencies.add(System.nanoTime() - start);
+                }
+            });
+            clients.add(client);
+            client.start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return sorted[(int) (sorted.length * 0.99)];
+    }
+}
@@ -0,0 +1,166 @@
+package com.decisionlens.assignment.controller;
+
+import com.decisionlens.assignment.admission.AdaptiveConcurrencyLimiter;
+import com.decisionlens.assignment.admission.AdmissionInterceptor;
+import com.decisionlens.assignment.imports.BookImportJob;
+import com.decisionlens.assignment.imports.ImportFormat;
+import com.decisionlens.assignment.listing.BookListingCache;
+import com.decisionlens.assignment.model.Book;
+import com.decisionlens.assignment.service.BookImportService;
+import com.decisionlens.assignment.service.BookService;
+import com.decisionlens.assignment.util.JsonUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.servlet.ServletException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the book endpoints behind read and write limits of one request each, so a single request held
+ * open in the handler fills its limit.
+ */
+@WebMvcTest(value = {BookController.class, BookImportController.class}, properties = {
+        "book.admission.read.initial-limit=1", "book.admission.read.min-limit=1", "book.admission.read.max-limit=1",
+        "book.admission.write.initial-limit=1", "book.admission.write.min-limit=1", "book.admission.write.max-limit=1",
+        "book.admission.retry-after=2s"})
+@Import(BookListingCache.class)
+public class AdmissionInterceptorTest {
+
+    private static final Long BOOK_ID = 1L;
+
+    @MockBean
+    private BookService bookService;
+
+    @MockBean
+    private BookImportService bookImportService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdmissionInterceptor admissionInterceptor;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Read over the limit is rejected with 503 and Retry-After while writes are still admitted")
+    public void test_givenReadInFlight_RejectRead() throws Exception {
+        Mockito.when(bookService.fetchBookById(BOOK_ID)).thenAnswer(invocation -> holdOpen(book()));
+        Mockito.when(bookService.addBook(Mockito.any())).thenReturn(book());
+        Future<MvcResult> heldRead = hold(get("/api/v1/book/{id}", BOOK_ID));
+
+        mockMvc.perform(get("/api/v1/book/{id}", BOOK_ID))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.message").value("Service Unavailable"))
+                .andExpect(jsonPath("$.details[0]").value("Too many concurrent read requests"));
+        mockMvc.perform(post("/api/v1/book")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JsonUtil.toJson(book())))
+                .andExpect(status().isCreated());
+
+        release.countDown();
+        assertEquals(200, heldRead.get(10, TimeUnit.SECONDS).getResponse().getStatus());
+        assertInFlight(0, 0);
+    }
+
+    @Test
+    @DisplayName("Write over the limit is rejected while bulk imports bypass the write limit")
+    public void test_givenWriteInFlight_RejectWriteButAdmitImport() throws Exception {
+        Mockito.when(bookService.addBook(Mockito.any())).thenAnswer(invocation -> holdOpen(book()));
+        Mockito.when(bookImportService.importBooks(Mockito.any(), Mockito.eq(ImportFormat.CSV)))
+                .thenReturn(new BookImportJob(ImportFormat.CSV, 10));
+        Future<MvcResult> heldWrite = hold(post("/api/v1/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(book())));
+
+        mockMvc.perform(post("/api/v1/book")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JsonUtil.toJson(book())))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.details[0]").value("Too many concurrent write requests"));
+        mockMvc.perform(post("/api/v1/book/import")
+                        .contentType("text/csv")
+                        .content("title,author\nRajesh assignment,Rajesh\n"))
+                .andExpect(status().isCreated());
+
+        release.countDown();
+        assertEquals(201, heldWrite.get(10, TimeUnit.SECONDS).getResponse().getStatus());
+        assertInFlight(0, 0);
+    }
+
+    @Test
+    @DisplayName("Permit is released when the handler throws")
+    public void test_givenHandlerThrows_ReleasePermit() throws Exception {
+        Mockito.when(bookService.fetchBookById(BOOK_ID)).thenThrow(new IllegalStateException("Database is down"));
+
+        assertThrows(ServletException.class, () -> mockMvc.perform(get("/api/v1/book/{id}", BOOK_ID)));
+        assertInFlight(0, 0);
+
+        Mockito.reset(bookService);
+        Mockito.when(bookService.fetchBookById(BOOK_ID)).thenReturn(book());
+        mockMvc.perform(get("/api/v1/book/{id}", BOOK_ID))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Performs the request on another thread and returns once its handler is running.
+     */
+    private Future<MvcResult> hold(MockHttpServletRequestBuilder request) throws InterruptedException {
+        Future<MvcResult> result = executor.submit(() -> mockMvc.perform(request).andReturn());
+        assertTrue(entered.await(10, TimeUnit.SECONDS), "held request reached the handler");
+        return result;
+    }
+
+    private Book holdOpen(Book book) throws InterruptedException {
+        entered.countDown();
+        release.await(10, TimeUnit.SECONDS);
+        return book;
+    }
+
+    private void assertInFlight(int reads, int writes) {
+        AdaptiveConcurrencyLimiter readLimiter = admissionInterceptor.getLimiters().get(0);
+        AdaptiveConcurrencyLimiter writeLimiter = admissionInterceptor.getLimiters().get(1);
+        assertEquals(reads, readLimiter.getInFlight());
+        assertEquals(writes, writeLimiter.getInFlight());
+    }
+
+    private static Book book() {
+        return Book.builder()
+                .title("Rajesh assignment")
+                .author("Rajesh")
+                .numberOfPages(1)
+                .build();
+    }
+}
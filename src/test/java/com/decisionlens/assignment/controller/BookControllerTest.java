@@ -3,9 +3,12 @@ package com.decisionlens.assignment.controller;
 import com.decisionlens.assignment.exception.BookAlreadyExistsException;
 import com.decisionlens.assignment.exception.BookNotFoundException;
 import com.decisionlens.assignment.exception.InvalidRequestException;
+import com.decisionlens.assignment.listing.BookListingCache;
 import com.decisionlens.assignment.model.Book;
 import com.decisionlens.assignment.service.BookService;
 import com.decisionlens.assignment.util.JsonUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
@@ -13,23 +16,31 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.util.Assert;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
 @WebMvcTest(value = BookController.class)
+@Import(BookListingCache.class)
 public class BookControllerTest {
     @MockBean
     private BookService bookService;
@@ -37,8 +48,17 @@ public class BookControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private BookListingCache bookListingCache;
+
     private static final Long BOOK_ID = 1L;
 
+    @BeforeEach
+    public void setUp() {
+        // The listing snapshot outlives the mocked service between tests.
+        bookListingCache.onBookChanged();
+    }
+
     @Test
     @DisplayName("Retrieving book with valid book id")
     public void test_giveValidBookId_ReturnBook() throws Exception {
@@ -104,6 +124,75 @@ public class BookControllerTest {
                 .andExpect(jsonPath("$.[0].numberOfPages").value(1)
                 );
     }
+    @Test
+    @DisplayName("Retrieving all books gzip compressed when the client accepts it")
+    public void test_whenGetAllEndpointInvokeWithGzip_ReturnCompressedBooks() throws Exception {
+        Mockito.when(bookService.getAllBooks()).thenReturn(books(50));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/book")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept-Encoding"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            List<?> listing = new ObjectMapper().readValue(in, List.class);
+            Assert.isTrue(listing.size() == 50, "All 50 books are listed");
+        }
+    }
+
+    @Test
+    @DisplayName("Retrieving all books uncompressed when the client does not accept gzip")
+    public void test_whenGetAllEndpointInvokeWithoutGzip_ReturnIdentityBooks() throws Exception {
+        Mockito.when(bookService.getAllBooks()).thenReturn(books(50));
+
+        mockMvc.perform(get("/api/v1/book")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept-Encoding"))
+                .andExpect(jsonPath("$.length()").value(50));
+    }
+
+    @Test
+    @DisplayName("Retrieving a listing too small to compress uncompressed even when gzip is accepted")
+    public void test_whenGetAllEndpointInvokeWithSmallListing_ReturnIdentityBooks() throws Exception {
+        Mockito.when(bookService.getAllBooks()).thenReturn(books(1));
+
+        mockMvc.perform(get("/api/v1/book")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept-Encoding"))
+                .andExpect(jsonPath("$.[0].title").value("Rajesh assignment 1"));
+    }
+
+    @Test
+    @DisplayName("Retrieving all books with the current ETag returns not modified")
+    public void test_whenGetAllEndpointInvokeWithCurrentEtag_ReturnNotModified() throws Exception {
+        Mockito.when(bookService.getAllBooks()).thenReturn(books(1));
+        String etag = mockMvc.perform(get("/api/v1/book"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/book")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept-Encoding"))
+                .andExpect(content().bytes(new byte[0]));
+
+        bookListingCache.onBookChanged();
+        mockMvc.perform(get("/api/v1/book")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].title").value("Rajesh assignment 1"));
+        Mockito.verify(bookService, times(2)).getAllBooks();
+    }
+
     @Test
     @DisplayName("Adding book with valid input and book create successfully")
     public void test_giveValidBookDetails_AddToRepo() throws Exception {
@@ -233,4 +322,17 @@ public class BookControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
+
+    private static List<Book> books(int count) {
+        List<Book> books = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            books.add(Book.builder()
+                    .id(id)
+                    .title("Rajesh assignment " + id)
+                    .author("Rajesh")
+                    .numberOfPages(100)
+                    .build());
+        }
+        return books;
+    }
 }
@@ -0,0 +1,70 @@
+package com.decisionlens.assignment.errorhandling;
+
+import com.decisionlens.assignment.exception.BookNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ErrorBodiesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ErrorBodies sut = new ErrorBodies();
+
+    @Test
+    @DisplayName("Encoded bodies match the serialized ErrorResponse")
+    public void test_givenMessageAndDetail_MatchErrorResponse() throws Exception {
+        assertBodyEquals(ErrorResponse.builder().message("Not Found").detail("Book \"x\" not found id : 1\n").build(),
+                sut.body("Not Found", "Book \"x\" not found id : 1\n"));
+        assertBodyEquals(ErrorResponse.builder().message("Adding Book input is not valid").build(),
+                sut.cachedBody("Adding Book input is not valid"));
+        assertBodyEquals(ErrorResponse.builder().message(null).build(), sut.body(null));
+        assertBodyEquals(ErrorResponse.builder().message("Service Unavailable").detail("Too many").build(),
+                sut.cachedBody("Service Unavailable", "Too many"));
+    }
+
+    @Test
+    @DisplayName("Cached bodies are reused")
+    public void test_givenSameMessage_ReturnCachedBody() {
+        assertSame(sut.cachedBody("Adding Book input is not valid"), sut.cachedBody("Adding Book input is not valid"));
+    }
+
+    @Test
+    @DisplayName("Cached bodies of different messages and details are kept apart")
+    public void test_givenSimilarMessages_ReturnOwnCachedBody() throws Exception {
+        assertBodyEquals(ErrorResponse.builder().message("a\nb").detail("c").build(), sut.cachedBody("a\nb", "c"));
+        assertBodyEquals(ErrorResponse.builder().message("a").detail("b\nc").build(), sut.cachedBody("a", "b\nc"));
+        assertBodyEquals(ErrorResponse.builder().message(null).build(), sut.cachedBody(null));
+        assertBodyEquals(ErrorResponse.builder().message("null").build(), sut.cachedBody("null"));
+    }
+
+    @Test
+    @DisplayName("Bodies of one-off messages leave the fixed messages encoded")
+    public void test_givenManyOneOffMessages_KeepFixedPrefix() throws Exception {
+        ErrorBodies errorBodies = new ErrorBodies("Not Found");
+        for (int i = 0; i < 1000; i++) {
+            errorBodies.body("Book with title " + i + "already exists");
+        }
+
+        assertBodyEquals(ErrorResponse.builder().message("Not Found").detail("Book not found id : 10").build(),
+                errorBodies.body("Not Found", "Book not found id : 10"));
+        assertBodyEquals(ErrorResponse.builder().message("Book with title 1already exists").build(),
+                errorBodies.body("Book with title 1already exists"));
+    }
+
+        @Test
+    @DisplayName("Domain exceptions skip the stack trace and build the message on demand")
+    public void test_givenBookNotFoundException_NoStackTrace() {
+        BookNotFoundException e = new BookNotFoundException("Book", "id", 10);
+
+        assertEquals(0, e.getStackTrace().length);
+        assertEquals("Book not found id : 10", e.getMessage());
+    }
+
+    private void assertBodyEquals(ErrorResponse expected, byte[] actual) throws Exception {
+        assertEquals(objectMapper.writeValueAsString(expected), new String(actual, StandardCharsets.UTF_8));
+    }
+}
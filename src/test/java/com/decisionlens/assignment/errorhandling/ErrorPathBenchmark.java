@@ -0,0 +1,61 @@
+package com.decisionlens.assignment.errorhandling;
+
+import com.decisionlens.assignment.exception.BookNotFoundException;
+import com.decisionlens.assignment.util.MicroBenchmark;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+/**
+ * Throughput of the 404 path from throwing the miss to the encoded body, against the previous path:
+ * a stack capturing exception with a String.format message, an ErrorResponse and bean serialization.
+ * Exceptions are thrown from {@value #STACK_DEPTH} frames deep, roughly the depth of a controller call
+ * inside the servlet container. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class ErrorPathBenchmark {
+
+    private static final int STACK_DEPTH = 100;
+    private static final int WARMUP = 20_000;
+    private static final int MEASURED = 200_000;
+
+    static class StackCapturingNotFoundException extends RuntimeException {
+        StackCapturingNotFoundException(String resourceName, String fieldName, Object fieldValue) {
+            super(String.format("%s not found %s : %s", resourceName, fieldName, fieldValue));
+        }
+    }
+
+    @Test
+    public void notFound() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ControllerAdviceErrorHandler handler = new ControllerAdviceErrorHandler();
+        long[] id = {0};
+
+        MicroBenchmark.run("404 before", WARMUP, MEASURED, () -> {
+            try {
+                throwAt(STACK_DEPTH, () -> new StackCapturingNotFoundException("Book", "id", ++id[0]));
+            } catch (StackCapturingNotFoundException e) {
+                objectMapper.writeValueAsBytes(ErrorResponse.builder()
+                        .message("Not Found")
+                        .detail(e.getMessage())
+                        .build());
+            }
+        });
+        MicroBenchmark.run("404 after", WARMUP, MEASURED, () -> {
+            try {
+                throwAt(STACK_DEPTH, () -> new BookNotFoundException("Book", "id", ++id[0]));
+            } catch (BookNotFoundException e) {
+                handler.getResponseForResourceNotFound(e);
+            }
+        });
+    }
+
+    private static void throwAt(int depth, Supplier<RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        throwAt(depth - 1, exception);
+    }
+}
@@ -0,0 +1,68 @@
+package com.decisionlens.assignment.json;
+
+import com.decisionlens.assignment.model.Book;
+import com.decisionlens.assignment.util.MicroBenchmark;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the dedicated book serializer with reflective bean serialization and a per write pattern
+ * format, which is how books were written before. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class BookJsonBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int MEASURED = 100_000;
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    abstract static class BeanSerializedBook {
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+        abstract LocalDateTime getPublishedDate();
+    }
+
+    @Test
+    public void serializeBooks() throws Exception {
+        ObjectMapper dedicated = new ObjectMapper();
+        ObjectMapper bean = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .addMixIn(Book.class, BeanSerializedBook.class);
+        Book book = book(1);
+        List<Book> page = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            page.add(book(i));
+        }
+        OutputStream sink = OutputStream.nullOutputStream();
+
+        // The sink is shared by every write, so the writers must not close it.
+        ObjectWriter dedicatedWriter = dedicated.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        ObjectWriter beanWriter = bean.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        MicroBenchmark.run("bean Book", WARMUP, MEASURED, () -> beanWriter.writeValue(sink, book));
+        MicroBenchmark.run("dedicated Book", WARMUP, MEASURED, () -> dedicatedWriter.writeValue(sink, book));
+        MicroBenchmark.run("bean List<Book> x100", WARMUP / 10, MEASURED / 10, () -> beanWriter.writeValue(sink, page));
+        MicroBenchmark.run("dedicated List<Book> x100", WARMUP / 10, MEASURED / 10,
+                () -> dedicatedWriter.writeValue(sink, page));
+    }
+
+    private static Book book(long id) {
+        return Book.builder()
+                .id(id)
+                .title("Rajesh assignment " + id)
+                .author("Rajesh")
+                .numberOfPages((int) id)
+                .publishedDate(LocalDateTime.of(2022, 7, 1, 9, 5, 30))
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.decisionlens.assignment.json;
+
+import com.decisionlens.assignment.model.Book;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookJsonSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Serializing book keeps the bean field order and date pattern")
+    public void test_givenBook_WriteJson() throws Exception {
+        Book book = Book.builder()
+                .id(1L)
+                .title("Rajesh \"assignment\"")
+                .author("Rajesh")
+                .numberOfPages(1)
+                .publishedDate(LocalDateTime.of(2022, 7, 1, 9, 5, 30))
+                .build();
+
+        assertEquals("{\"id\":1,\"title\":\"Rajesh \\\"assignment\\\"\",\"author\":\"Rajesh\","
+                        + "\"numberOfPages\":1,\"publishedDate\":\"2022-07-01 09:05:30\"}",
+                objectMapper.writeValueAsString(book));
+    }
+
+    @Test
+    @DisplayName("Deserializing book ignores unknown fields and reads the date pattern")
+    public void test_givenJson_ReadBook() throws Exception {
+        Book book = objectMapper.readValue("{\"title\":\"Rajesh assignment\",\"isbn\":{\"v\":[1]},"
+                + "\"author\":null,\"numberOfPages\":\"12\",\"publishedDate\":\"2022-07-01 09:05:30\"}", Book.class);
+
+        assertNull(book.getId());
+        assertEquals("Rajesh assignment", book.getTitle());
+        assertNull(book.getAuthor());
+        assertEquals(12, book.getNumberOfPages());
+        assertEquals(LocalDateTime.of(2022, 7, 1, 9, 5, 30), book.getPublishedDate());
+    }
+
+    @Test
+    @DisplayName("Deserializing book rejects an object as field value")
+    public void test_givenNestedObject_RejectBook() {
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue(
+                "{\"title\":{\"author\":\"injected\",\"id\":99},\"author\":\"real\",\"numberOfPages\":5}",
+                Book.class));
+    }
+
+    @Test
+    @DisplayName("Deserializing book rejects an array as field value")
+    public void test_givenArray_RejectBook() {
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue(
+                "{\"title\":\"Rajesh assignment\",\"author\":[\"Rajesh\"],\"numberOfPages\":5}", Book.class));
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue(
+                "{\"id\":[1],\"title\":\"Rajesh assignment\"}", Book.class));
+    }
+
+    @Test
+    @DisplayName("Deserializing book rejects a non numeric page count")
+    public void test_givenNonNumericPages_RejectBook() {
+        assertThrows(InvalidFormatException.class, () -> objectMapper.readValue(
+                "{\"title\":\"Rajesh assignment\",\"author\":\"Rajesh\",\"numberOfPages\":\"abc\"}", Book.class));
+    }
+
+    @Test
+    @DisplayName("Serialized book reads back unchanged")
+    public void test_givenBook_RoundTrip() throws Exception {
+        Book book = Book.builder()
+                .title("Rajesh assignment")
+                .author("Rajesh")
+                .numberOfPages(1)
+                .build();
+
+        assertEquals(book, objectMapper.readValue(objectMapper.writeValueAsBytes(book), Book.class));
+    }
+}
@@ -0,0 +1,129 @@
+package com.decisionlens.assignment.listing;
+
+import com.decisionlens.assignment.model.Book;
+import com.decisionlens.assignment.service.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BookListingCacheTest {
+
+    private final BookService bookService = mock(BookService.class);
+    private final BookListingProperties properties = new BookListingProperties();
+    private BookListingCache sut;
+
+    @BeforeEach
+    public void setUp() {
+        properties.setCompressionMinSize(DataSize.ofBytes(256));
+        sut = new BookListingCache(bookService, new ObjectMapper(), properties);
+    }
+
+    @Test
+    @DisplayName("Listing is serialized once and served until a book changes")
+    public void test_givenNoChange_ServeSameSnapshot() {
+        when(bookService.getAllBooks()).thenReturn(books(3));
+
+        ListingSnapshot first = sut.get();
+        ListingSnapshot second = sut.get();
+
+        assertSame(first, second);
+        assertSame(first.getJson(), second.getJson());
+        verify(bookService, times(1)).getAllBooks();
+
+        sut.onBookChanged();
+        ListingSnapshot afterChange = sut.get();
+
+        assertNotSame(first, afterChange);
+        assertNotEquals(first.getEtag(), afterChange.getEtag());
+        verify(bookService, times(2)).getAllBooks();
+    }
+
+    @Test
+    @DisplayName("Listing built while a book changes is not served after the change")
+    public void test_givenChangeDuringBuild_RebuildListing() {
+        when(bookService.getAllBooks()).thenAnswer(invocation -> {
+            sut.onBookChanged();
+            return books(1);
+        }).thenReturn(books(2));
+
+        ListingSnapshot raced = sut.get();
+        ListingSnapshot current = sut.get();
+
+        assertNotSame(raced, current);
+        assertSame(current, sut.get());
+        verify(bookService, times(2)).getAllBooks();
+    }
+
+    @Test
+    @DisplayName("Large listing keeps a gzip copy of the same JSON")
+    public void test_givenLargeListing_KeepGzipCopy() throws IOException {
+        when(bookService.getAllBooks()).thenReturn(books(50));
+
+        ListingSnapshot listing = sut.get();
+
+        assertTrue(listing.hasGzip());
+        assertTrue(listing.getGzip().length < listing.getJson().length);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(listing.getGzip()))) {
+            assertArrayEquals(listing.getJson(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Small listing is only kept uncompressed")
+    public void test_givenSmallListing_SkipGzipCopy() {
+        when(bookService.getAllBooks()).thenReturn(books(1));
+
+        assertFalse(sut.get().hasGzip());
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding selects gzip unless refused with a zero quality")
+    public void test_givenAcceptEncoding_SelectGzip() {
+        assertTrue(ListingSnapshot.acceptsGzip("gzip, deflate, br"));
+        assertTrue(ListingSnapshot.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(ListingSnapshot.acceptsGzip("*"));
+        assertFalse(ListingSnapshot.acceptsGzip(null));
+        assertFalse(ListingSnapshot.acceptsGzip("identity"));
+        assertFalse(ListingSnapshot.acceptsGzip("gzip;q=0"));
+        assertFalse(ListingSnapshot.acceptsGzip("*, gzip;q=0.0"));
+    }
+
+    @Test
+    @DisplayName("If-None-Match matches the snapshot entity tag weakly")
+    public void test_givenIfNoneMatch_CompareEntityTags() {
+        when(bookService.getAllBooks()).thenReturn(books(1));
+        ListingSnapshot listing = sut.get();
+        String opaqueTag = listing.getEtag().substring(2);
+
+        assertTrue(listing.isNotModified(listing.getEtag()));
+        assertTrue(listing.isNotModified("\"other\", " + opaqueTag));
+        assertTrue(listing.isNotModified("*"));
+        assertFalse(listing.isNotModified(null));
+        assertFalse(listing.isNotModified("W/\"other\""));
+    }
+
+    private static List<Book> books(int count) {
+        List<Book> books = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            books.add(Book.builder()
+                    .id(id)
+                    .title("Rajesh assignment " + id)
+                    .author("Rajesh")
+                    .numberOfPages(100)
+                    .build());
+        }
+        return books;
+    }
+}
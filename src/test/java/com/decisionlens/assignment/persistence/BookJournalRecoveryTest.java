@@ -0,0 +1,142 @@
+package com.decisionlens.assignment.persistence;
+
+import com.decisionlens.assignment.AssignmentApplication;
+import com.decisionlens.assignment.event.BookChangedEvent;
+import com.decisionlens.assignment.model.Book;
+import com.decisionlens.assignment.service.BookService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application on a prepared journal directory and checks what the catalog looks like
+ * afterwards. Every start gets its own in-memory database, so only the journal carries books across
+ * restarts.
+ */
+public class BookJournalRecoveryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Snapshot, archived log and live log are restored with the last write winning")
+    public void test_givenSnapshotAndLogs_RestoreCatalog() throws IOException {
+        try (BookSnapshotFile.Writer writer = BookSnapshotFile.writer(directory.resolve("books.snapshot"))) {
+            writer.append(savedRecord(1L, "First assignment"));
+            writer.append(savedRecord(2L, "Second assignment"));
+            writer.append(savedRecord(3L, "Third assignment"));
+            writer.commit();
+        }
+        // Left behind by a snapshot that was interrupted after rotating the log.
+        try (BookWriteAheadLog log = openLog("books.wal.old")) {
+            log.append(savedRecord(2L, "Second assignment, revised"));
+            log.append(savedRecord(4L, "Fourth assignment"));
+        }
+        try (BookWriteAheadLog log = openLog("books.wal")) {
+            log.append(BookRecord.deleted(1L));
+            log.append(savedRecord(4L, "Fourth assignment, revised"));
+            log.append(savedRecord(7L, "Seventh assignment"));
+        }
+
+        try (ConfigurableApplicationContext context = start(true)) {
+            Map<Long, String> expected = new LinkedHashMap<>();
+            expected.put(2L, "Second assignment, revised");
+            expected.put(3L, "Third assignment");
+            expected.put(4L, "Fourth assignment, revised");
+            expected.put(7L, "Seventh assignment");
+            assertEquals(expected, titles(context));
+            assertFalse(Files.exists(directory.resolve("books.wal.old")), "interrupted snapshot is completed");
+
+            Book added = context.getBean(BookService.class).addBook(book("Eighth assignment"));
+            assertEquals(8L, added.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Mutations logged before shutdown survive a restart without a snapshot")
+    public void test_givenLoggedMutations_RestoreAfterRestart() {
+        try (ConfigurableApplicationContext context = start(false)) {
+            BookService bookService = context.getBean(BookService.class);
+            Book first = bookService.addBook(book("First assignment"));
+            Book second = bookService.addBook(book("Second assignment"));
+            bookService.removeBook(first.getId());
+            second.setTitle("Second assignment, revised");
+            bookService.updateBook(second.getId(), second);
+        }
+        assertFalse(Files.exists(directory.resolve("books.snapshot")));
+
+        try (ConfigurableApplicationContext context = start(false)) {
+            assertEquals(Map.of(2L, "Second assignment, revised"), titles(context));
+
+            Book added = context.getBean(BookService.class).addBook(book("Third assignment"));
+            assertEquals(3L, added.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Fast-start profile restores the catalog once the deferred schema exists")
+    public void test_givenFastStartProfile_RestoreCatalog() throws IOException {
+        try (BookSnapshotFile.Writer writer = BookSnapshotFile.writer(directory.resolve("books.snapshot"))) {
+            writer.append(savedRecord(1L, "First assignment"));
+            writer.append(savedRecord(5L, "Fifth assignment"));
+            writer.commit();
+        }
+
+        try (ConfigurableApplicationContext context = start(false, "--spring.profiles.active=fast-start")) {
+            assertEquals(Map.of(1L, "First assignment", 5L, "Fifth assignment"), titles(context));
+
+            Book added = context.getBean(BookService.class).addBook(book("Sixth assignment"));
+            assertEquals(6L, added.getId());
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean snapshotOnShutdown, String... args) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:journal-" + UUID.randomUUID(),
+                "--book.persistence.enabled=true",
+                "--book.persistence.directory=" + directory,
+                "--book.persistence.snapshot-on-shutdown=" + snapshotOnShutdown));
+        arguments.addAll(List.of(args));
+        return new SpringApplicationBuilder(AssignmentApplication.class).run(arguments.toArray(new String[0]));
+    }
+
+    private BookWriteAheadLog openLog(String name) throws IOException {
+        return BookWriteAheadLog.open(directory.resolve(name), FsyncPolicy.ALWAYS, record -> {});
+    }
+
+    private static Map<Long, String> titles(ConfigurableApplicationContext context) {
+        Map<Long, String> titles = new LinkedHashMap<>();
+        context.getBean(JdbcTemplate.class).query("SELECT id, title FROM book ORDER BY id",
+                resultSet -> {
+                    titles.put(resultSet.getLong("id"), resultSet.getString("title"));
+                });
+        return titles;
+    }
+
+    private static Book book(String title) {
+        return Book.builder()
+                .title(title)
+                .author("Rajesh")
+                .numberOfPages(1)
+                .build();
+    }
+
+    private static BookRecord savedRecord(long id, String title) {
+        return new BookRecord(BookChangedEvent.Type.SAVED, id, title, "Rajesh", 1, 1_656_000_000_000L);
+    }
+}
@@ -0,0 +1,109 @@
+package com.decisionlens.assignment.persistence;
+
+import com.decisionlens.assignment.event.BookChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookWriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Replaying the log returns appended mutations in order")
+    public void test_appendedRecords_AreReplayedOnOpen() throws IOException {
+        Path logPath = directory.resolve("books.wal");
+        try (BookWriteAheadLog log = BookWriteAheadLog.open(logPath, FsyncPolicy.ALWAYS, record -> {})) {
+            log.append(savedRecord(1L, "Rajesh assignment"));
+            log.append(BookRecord.deleted(1L));
+        }
+
+        List<BookRecord> replayed = new ArrayList<>();
+        try (BookWriteAheadLog log = BookWriteAheadLog.open(logPath, FsyncPolicy.ALWAYS, replayed::add)) {
+            assertEquals(2, log.entries());
+        }
+        assertEquals(savedRecord(1L, "Rajesh assignment"), replayed.get(0));
+        assertEquals(BookChangedEvent.Type.DELETED, replayed.get(1).getType());
+    }
+
+    @Test
+    @DisplayName("A batch waits for one group sync and is replayed in order")
+    public void test_appendedBatch_WaitsForOneGroupSync() throws Exception {
+        Path logPath = directory.resolve("books.wal");
+        List<BookRecord> batch = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            batch.add(savedRecord(id, "Book " + id));
+        }
+        try (BookWriteAheadLog log = BookWriteAheadLog.open(logPath, FsyncPolicy.GROUP, record -> {})) {
+            CompletableFuture<Void> appended = CompletableFuture.runAsync(() -> {
+                try {
+                    log.appendAll(batch);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            while (log.entries() < batch.size()) {
+                Thread.sleep(1);
+            }
+            assertFalse(appended.isDone(), "batch is not acknowledged before the sync");
+
+            log.sync();
+            appended.get(10, TimeUnit.SECONDS);
+        }
+
+        List<BookRecord> replayed = new ArrayList<>();
+        BookWriteAheadLog.open(logPath, FsyncPolicy.NEVER, replayed::add).close();
+        assertEquals(batch, replayed);
+    }
+
+    @Test
+    @DisplayName("A torn entry at the end of the log is dropped")
+    public void test_tornTail_IsTruncatedOnOpen() throws IOException {
+        Path logPath = directory.resolve("books.wal");
+        try (BookWriteAheadLog log = BookWriteAheadLog.open(logPath, FsyncPolicy.NEVER, record -> {})) {
+            log.append(savedRecord(1L, "Rajesh assignment"));
+            log.append(savedRecord(2L, "Rajesh second assignment"));
+        }
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        List<BookRecord> replayed = new ArrayList<>();
+        BookWriteAheadLog.open(logPath, FsyncPolicy.NEVER, replayed::add).close();
+        assertEquals(1, replayed.size());
+        assertEquals(1L, replayed.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Snapshot round trip keeps every book")
+    public void test_snapshot_RoundTrip() throws IOException {
+        Path snapshotPath = directory.resolve("books.snapshot");
+        try (BookSnapshotFile.Writer writer = BookSnapshotFile.writer(snapshotPath)) {
+            for (long id = 1; id <= 1000; id++) {
+                writer.append(savedRecord(id, "Book " + id));
+            }
+            assertEquals(1000, writer.commit());
+        }
+
+        List<BookRecord> restored = new ArrayList<>();
+        assertEquals(1000, BookSnapshotFile.read(snapshotPath, restored::add));
+        assertEquals(savedRecord(1000L, "Book 1000"), restored.get(999));
+    }
+
+    private static BookRecord savedRecord(long id, String title) {
+        return new BookRecord(BookChangedEvent.Type.SAVED, id, title, "Rajesh", 1, 1_656_000_000_000L);
+    }
+}
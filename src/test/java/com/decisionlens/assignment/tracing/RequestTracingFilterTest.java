@@ -0,0 +1,112 @@
+package com.decisionlens.assignment.tracing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestTracingFilterTest {
+
+    private static final byte[] BODY = "{\"title\":\"Rajesh assignment\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("Sampled request returns its stage breakdown in the Server-Timing header")
+    public void test_givenSampledRequest_AddServerTimingHeader() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(1.0).doFilter(new MockHttpServletRequest("GET", "/api/v1/book/1"), response, tracedChain());
+
+        String serverTiming = response.getHeader("Server-Timing");
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.contains("sql;dur="), serverTiming);
+        assertTrue(serverTiming.contains(";desc=\"1 statements\""), serverTiming);
+        assertTrue(serverTiming.contains("ser;dur="), serverTiming);
+        assertTrue(serverTiming.contains("total;dur="), serverTiming);
+        assertArrayEquals(BODY, response.getContentAsByteArray());
+        assertNull(RequestTrace.current());
+    }
+
+    @Test
+    @DisplayName("Request outside the sample is not traced")
+    public void test_givenUnsampledRequest_NoServerTimingHeader() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(0.0).doFilter(new MockHttpServletRequest("GET", "/api/v1/book/1"), response, tracedChain());
+
+        assertNull(response.getHeader("Server-Timing"));
+        assertArrayEquals(BODY, response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("Nested stages are charged only their exclusive time")
+    public void test_givenNestedStages_ChargeExclusiveTime() {
+        RequestTrace trace = RequestTrace.start();
+        try {
+            trace.enter(RequestTrace.Stage.SERVICE);
+            trace.enter(RequestTrace.Stage.SQL);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+            trace.exit();
+            trace.exit();
+            trace.finish();
+        } finally {
+            RequestTrace.clear();
+        }
+
+        long sql = trace.getStageNanos(RequestTrace.Stage.SQL);
+        long service = trace.getStageNanos(RequestTrace.Stage.SERVICE);
+        assertTrue(sql >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(service < sql);
+        assertTrue(service + sql <= trace.getTotalNanos());
+    }
+
+    @Test
+    @DisplayName("Disabling tracing also leaves out the aspect and the serialization advice")
+    public void test_givenTracingDisabled_NoTracingBeans() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withUserConfiguration(RequestTracingFilter.class, TracingAspect.class, SerializationTimingAdvice.class);
+
+        runner.run(context -> {
+            assertEquals(1, context.getBeansOfType(TracingAspect.class).size());
+            assertEquals(1, context.getBeansOfType(SerializationTimingAdvice.class).size());
+        });
+        runner.withPropertyValues("book.tracing.enabled=false").run(context -> {
+            assertTrue(context.getBeansOfType(RequestTracingFilter.class).isEmpty());
+            assertTrue(context.getBeansOfType(TracingAspect.class).isEmpty());
+            assertTrue(context.getBeansOfType(SerializationTimingAdvice.class).isEmpty());
+        });
+    }
+
+    private static RequestTracingFilter filter(double sampleRate) {
+        TracingProperties properties = new TracingProperties();
+        properties.setSampleRate(sampleRate);
+        properties.setSlowThreshold(Duration.ZERO);
+        return new RequestTracingFilter(properties);
+    }
+
+    /**
+     * Walks through the stages like a controller call that runs one query and writes a JSON body.
+     */
+    private static FilterChain tracedChain() {
+        return (request, response) -> {
+            RequestTrace trace = RequestTrace.current();
+            if (trace != null) {
+                trace.enter(RequestTrace.Stage.SERVICE);
+                new HibernateTraceListener().jdbcExecuteStatementStart();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                new HibernateTraceListener().jdbcExecuteStatementEnd();
+                trace.exit();
+                trace.enter(RequestTrace.Stage.SERIALIZATION);
+            }
+            response.getOutputStream().write(BODY);
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.decisionlens.assignment.util;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Minimal single threaded harness for the benchmark tagged tests: warms the operation up, then reports
+ * throughput and bytes allocated per operation on the calling thread.
+ */
+public class MicroBenchmark {
+
+    @FunctionalInterface
+    public interface Operation {
+        void run() throws Exception;
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void run(String name, int warmupOperations, int measuredOperations, Operation operation)
+            throws Exception {
+        for (int i = 0; i < warmupOperations; i++) {
+            operation.run();
+        }
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < measuredOperations; i++) {
+            operation.run();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        System.out.printf("%-40s %,12.0f ops/s %,10d bytes/op%n", name,
+                measuredOperations / (elapsed / 1e9), allocated / measuredOperations);
+    }
+}